@@ -0,0 +1,82 @@
+package org.obi_mang.minesweeper;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A player that only looks at one revealed number at a time.
+ * <p>
+ * If a revealed item has as many marked neighbours as adjacent mines, its other hidden neighbours are safe
+ * and one of them is revealed. If its hidden and marked neighbours together are as many as its adjacent
+ * mines, they are all mines and one of them is marked. When neither applies anywhere, a random hidden item
+ * is revealed.
+ */
+public class BasicPlayerStrategy implements PlayerStrategy {
+  @Override
+  public Move nextMove(GameBoard board, Random random) {
+    List<List<GameBoardItem>> items = board.getGameBoardItems();
+    int rows = items.size();
+    int columns = items.get(0).size();
+    int hiddenItems = 0;
+
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        GameBoardItem item = items.get(row).get(column);
+        if (item.isHidden()) {
+          if (!item.isMarked()) {
+            hiddenItems++;
+          }
+          continue;
+        }
+        int adjacentMines = item.getAdjacentMines();
+        if (adjacentMines == 0) {
+          continue;
+        }
+
+        int hidden = 0;
+        int marked = 0;
+        int hiddenRow = -1;
+        int hiddenColumn = -1;
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+          for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+            GameBoardItem adjacent = items.get(r).get(c);
+            if (adjacent.isMarked()) {
+              marked++;
+            } else if (adjacent.isHidden()) {
+              hidden++;
+              hiddenRow = r;
+              hiddenColumn = c;
+            }
+          }
+        }
+        if (hidden > 0 && marked == adjacentMines) {
+          return Move.reveal(hiddenRow, hiddenColumn);
+        } else if (hidden > 0 && marked + hidden == adjacentMines) {
+          return Move.mark(hiddenRow, hiddenColumn);
+        }
+      }
+    }
+
+    return guess(items, hiddenItems, random);
+  }
+
+  /**
+   * Reveals a random hidden, unmarked item.
+   */
+  private Move guess(List<List<GameBoardItem>> items, int hiddenItems, Random random) {
+    if (hiddenItems == 0) {
+      return null;
+    }
+    int skip = random.nextInt(hiddenItems);
+    for (int row = 0; row < items.size(); row++) {
+      List<GameBoardItem> columns = items.get(row);
+      for (int column = 0; column < columns.size(); column++) {
+        GameBoardItem item = columns.get(column);
+        if (item.isHidden() && !item.isMarked() && skip-- == 0) {
+          return Move.reveal(row, column);
+        }
+      }
+    }
+    return null;
+  }
+}
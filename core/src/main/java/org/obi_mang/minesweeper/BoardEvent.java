@@ -0,0 +1,101 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Something that happened on a game board, as published on a {@link BoardEventBus}.
+ * <p>
+ * Instances are reused by the bus, so a {@link BoardEventHandler} must copy the values it wants to keep.
+ */
+public class BoardEvent {
+  /**
+   * The kinds of events.
+   */
+  public enum Type {
+    /** A game board item was revealed. */
+    REVEALED,
+    /** A game board item was marked as a potential mine. */
+    MARKED,
+    /** A game board item was unmarked as a potential mine. */
+    UNMARKED,
+    /** A mine was revealed, the position is the cause of death. */
+    DEATH,
+    /** All items except the mines have been revealed, the position is the last revealed item. */
+    VICTORY
+  }
+
+  private static final Type[] TYPES = Type.values();
+
+  private Type type;
+  private int row;
+  private int column;
+  private int adjacentMines;
+  private boolean mine;
+
+  BoardEvent() {
+    // Created by the bus only
+  }
+
+  /**
+   * Get the kind of event.
+   *
+   * @return the kind of event
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Get the row of the game board item the event concerns.
+   *
+   * @return the row of the game board item the event concerns
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Get the column of the game board item the event concerns.
+   *
+   * @return the column of the game board item the event concerns
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Get how many mines there are adjacent to the game board item.
+   *
+   * @return the number of mines adjacent to the game board item, 0 unless it is a revealed item that is not a mine
+   */
+  public int getAdjacentMines() {
+    return adjacentMines;
+  }
+
+  /**
+   * Check if the game board item is a mine.
+   *
+   * @return true if a revealed game board item is a mine, only ever the case once the game is lost. Always
+   *         false for marked and unmarked items, which are hidden
+   */
+  public boolean isMine() {
+    return mine;
+  }
+
+  /**
+   * Unpacks the values stored by {@link #packPosition(int, int)} and {@link #packDetails(Type, int, boolean)}.
+   */
+  void set(long position, int details) {
+    row = (int) (position >> 32);
+    column = (int) position;
+    type = TYPES[details & 0xFF];
+    adjacentMines = (details >> 8) & 0xFF;
+    mine = (details & 0x10000) != 0;
+  }
+
+  static long packPosition(int row, int column) {
+    return ((long) row << 32) | (column & 0xFFFFFFFFL);
+  }
+
+  static int packDetails(Type type, int adjacentMines, boolean mine) {
+    return type.ordinal() | (adjacentMines & 0xFF) << 8 | (mine ? 0x10000 : 0);
+  }
+}
@@ -0,0 +1,186 @@
+package org.obi_mang.minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * A ring buffer of {@link BoardEvent}s, written by the {@link Engine} and read by any number of
+ * {@link BoardEventSubscriber}s, each at its own pace.
+ * <p>
+ * Attach it to a game board with {@link GameBoard#setEventBus(BoardEventBus)}. All slots are allocated up
+ * front, so publishing an event never allocates. There must only be a single writer, i.e. a game board
+ * must only be played from one thread at a time, while the subscribers may poll from any thread.
+ * <p>
+ * What happens when the slowest subscriber falls a whole ring behind is decided by the
+ * {@link OverflowPolicy}.
+ */
+public class BoardEventBus {
+  /**
+   * What the writer does when the ring is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The writer waits until every subscriber has consumed the oldest event. A subscriber that stops
+     * polling without being closed stalls the game.
+     */
+    BLOCK,
+    /**
+     * The writer overwrites the oldest event. Subscribers that fall behind skip ahead and count the events
+     * they missed, see {@link BoardEventSubscriber#getDroppedEvents()}.
+     */
+    DROP
+  }
+
+  private static final BoardEventSubscriber[] NO_SUBSCRIBERS = new BoardEventSubscriber[0];
+
+  private final Slot[] slots;
+  private final int mask;
+  private final OverflowPolicy overflowPolicy;
+  private volatile long cursor;
+  private volatile BoardEventSubscriber[] subscribers;
+  // Only touched by the writer
+  private long nextSequence;
+  private long cachedGate;
+
+  /**
+   * Creates an event bus with a ring of a fixed number of slots.
+   *
+   * @param capacity - the number of slots in the ring, must be a power of two
+   * @param overflowPolicy - what to do when the ring is full
+   */
+  public BoardEventBus(int capacity, OverflowPolicy overflowPolicy) {
+    if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+    }
+    slots = new Slot[capacity];
+    for (int i = 0; i < capacity; i++) {
+      slots[i] = new Slot();
+    }
+    mask = capacity - 1;
+    this.overflowPolicy = overflowPolicy;
+    cursor = -1;
+    subscribers = NO_SUBSCRIBERS;
+    nextSequence = 0;
+    cachedGate = 0;
+  }
+
+  /**
+   * Get the amount of events the ring can hold.
+   *
+   * @return the number of slots in the ring
+   */
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  /**
+   * Get what the writer does when a subscriber falls a whole ring behind.
+   *
+   * @return what the writer does when the ring is full
+   */
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Get the sequence number of the last published event.
+   *
+   * @return the sequence number of the last published event, or -1 if nothing has been published
+   */
+  public long getCursor() {
+    return cursor;
+  }
+
+  /**
+   * Adds a subscriber. It receives the events published from now on.
+   *
+   * @return the new subscriber
+   */
+  public synchronized BoardEventSubscriber subscribe() {
+    BoardEventSubscriber subscriber = new BoardEventSubscriber(this, cursor + 1);
+    BoardEventSubscriber[] current = subscribers;
+    BoardEventSubscriber[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = subscriber;
+    subscribers = updated;
+    return subscriber;
+  }
+
+  /**
+   * Removes a subscriber, so the writer no longer waits for it.
+   */
+  synchronized void unsubscribe(BoardEventSubscriber subscriber) {
+    BoardEventSubscriber[] current = subscribers;
+    for (int i = 0; i < current.length; i++) {
+      if (current[i] == subscriber) {
+        BoardEventSubscriber[] updated = new BoardEventSubscriber[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, i);
+        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+        subscribers = updated;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Publishes an event. Must only be called by the single writer.
+   */
+  void publish(BoardEvent.Type type, int row, int column, int adjacentMines, boolean mine) {
+    long sequence = nextSequence;
+    if (overflowPolicy == OverflowPolicy.BLOCK) {
+      waitForCapacity(sequence);
+    }
+    Slot slot = slots[(int) sequence & mask];
+    // Readers that see the slot change while copying it know they were overrun
+    slot.sequence = -1;
+    slot.position = BoardEvent.packPosition(row, column);
+    slot.details = BoardEvent.packDetails(type, adjacentMines, mine);
+    slot.sequence = sequence;
+    nextSequence = sequence + 1;
+    cursor = sequence;
+  }
+
+  /**
+   * Copies the event with the given sequence number.
+   *
+   * @return true if the event was copied, false if it has already been overwritten
+   */
+  boolean read(long sequence, BoardEvent event) {
+    Slot slot = slots[(int) sequence & mask];
+    if (slot.sequence != sequence) {
+      return false;
+    }
+    long position = slot.position;
+    int details = slot.details;
+    if (slot.sequence != sequence) {
+      return false;
+    }
+    event.set(position, details);
+    return true;
+  }
+
+  private void waitForCapacity(long sequence) {
+    long wrapPoint = sequence - slots.length;
+    while (wrapPoint >= cachedGate) {
+      cachedGate = minimumSequence(sequence);
+      if (wrapPoint >= cachedGate) {
+        Thread.yield();
+      }
+    }
+  }
+
+  private long minimumSequence(long minimum) {
+    BoardEventSubscriber[] current = subscribers;
+    for (int i = 0; i < current.length; i++) {
+      minimum = Math.min(minimum, current[i].getSequence());
+    }
+    return minimum;
+  }
+
+  /**
+   * A preallocated event. All fields are volatile, so a reader can tell a torn copy by the sequence.
+   */
+  private static class Slot {
+    private volatile long sequence = -1;
+    private volatile long position;
+    private volatile int details;
+  }
+}
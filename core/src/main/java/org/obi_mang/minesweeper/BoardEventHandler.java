@@ -0,0 +1,16 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Receives the events polled by a {@link BoardEventSubscriber}.
+ */
+@FunctionalInterface
+public interface BoardEventHandler {
+  /**
+   * Called for every event, in the order they were published.
+   *
+   * @param event - the event, reused after this call returns
+   * @param sequence - the sequence number of the event on the bus
+   * @param endOfBatch - true if this is the last event of the current poll
+   */
+  void onEvent(BoardEvent event, long sequence, boolean endOfBatch);
+}
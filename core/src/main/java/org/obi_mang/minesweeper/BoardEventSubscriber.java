@@ -0,0 +1,104 @@
+package org.obi_mang.minesweeper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the events of a {@link BoardEventBus} at its own pace.
+ * <p>
+ * Obtain an instance from {@link BoardEventBus#subscribe()}. A subscriber must only be polled from one
+ * thread at a time.
+ */
+public class BoardEventSubscriber implements AutoCloseable {
+  private final BoardEventBus bus;
+  private BoardEvent event;
+  // The event after the one being handled, read ahead to know if it ends the batch
+  private BoardEvent nextEvent;
+  // The sequence number of the next event to read, read by the writer of the bus
+  private final AtomicLong sequence;
+  private long droppedEvents;
+
+  BoardEventSubscriber(BoardEventBus bus, long sequence) {
+    this.bus = bus;
+    this.event = new BoardEvent();
+    this.nextEvent = new BoardEvent();
+    this.sequence = new AtomicLong(sequence);
+    droppedEvents = 0;
+  }
+
+  /**
+   * Hands the events published since the last poll to the handler, at most maxBatch of them.
+   * <p>
+   * If the subscriber has been overrun, i.e. fallen a whole ring behind a bus with
+   * {@link BoardEventBus.OverflowPolicy#DROP}, the poll stops and the next one continues from the oldest
+   * event still in the ring. Each event is read before the previous one is handled, so the last event handled
+   * by a poll always has <code>endOfBatch</code> set, also when the poll stops early.
+   *
+   * @param handler - receives the events
+   * @param maxBatch - the maximum number of events to handle
+   * @return the number of events handled
+   */
+  public int poll(BoardEventHandler handler, int maxBatch) {
+    long next = sequence.get();
+    long available = bus.getCursor();
+    if (available < next || maxBatch < 1) {
+      return 0;
+    }
+
+    long end = Math.min(available, next + maxBatch - 1);
+    if (!bus.read(next, event)) {
+      skipOverwritten(next);
+      return 0;
+    }
+    int handled = 0;
+    for (long s = next; s <= end; s++) {
+      if (s < end && !bus.read(s + 1, nextEvent)) {
+        handler.onEvent(event, s, true);
+        skipOverwritten(s + 1);
+        return handled + 1;
+      }
+      handler.onEvent(event, s, s == end);
+      handled++;
+      BoardEvent handledEvent = event;
+      event = nextEvent;
+      nextEvent = handledEvent;
+    }
+    sequence.lazySet(end + 1);
+    return handled;
+  }
+
+  private void skipOverwritten(long overwritten) {
+    long oldest = Math.max(bus.getCursor() - bus.getCapacity() + 1, overwritten);
+    droppedEvents += oldest - overwritten;
+    sequence.lazySet(oldest);
+  }
+
+  /**
+   * Get how many events were overwritten before this subscriber polled them.
+   *
+   * @return the number of events this subscriber has missed by falling behind
+   */
+  public long getDroppedEvents() {
+    return droppedEvents;
+  }
+
+  /**
+   * Get how far this subscriber is behind the writer.
+   *
+   * @return the number of published events that have not been polled yet
+   */
+  public long getLag() {
+    return bus.getCursor() + 1 - sequence.get();
+  }
+
+  /**
+   * Unsubscribes from the bus.
+   */
+  @Override
+  public void close() {
+    bus.unsubscribe(this);
+  }
+
+  long getSequence() {
+    return sequence.get();
+  }
+}
@@ -0,0 +1,100 @@
+package org.obi_mang.minesweeper;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the frames written by a {@link BoardViewEncoder} back into the codes a player sees.
+ * <p>
+ * A decoder keeps the last decoded view, which {@link BoardViewEncoder.Framing#DELTA} frames are applied
+ * to, so it must see the same frames as the encoder wrote, in the same order.
+ */
+public class BoardViewDecoder {
+  private static final BoardViewEncoder.Framing[] FRAMINGS = BoardViewEncoder.Framing.values();
+
+  private final int rows;
+  private final int columns;
+  private final byte[] view;
+
+  /**
+   * Creates a decoder for the frames of a game board of the given size.
+   *
+   * @param rows - the number of rows of the encoded game board
+   * @param columns - the number of columns of the encoded game board
+   */
+  public BoardViewDecoder(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    this.view = new byte[rows * columns];
+    reset();
+  }
+
+  /**
+   * Go back to a view where everything is hidden, like {@link BoardViewEncoder#reset()}.
+   */
+  public void reset() {
+    for (int i = 0; i < view.length; i++) {
+      view[i] = BoardViewEncoder.HIDDEN;
+    }
+  }
+
+  /**
+   * Decodes a frame, read from the position of the buffer.
+   *
+   * @param in - the buffer to read from, its position is moved past the frame
+   * @throws IllegalArgumentException if the frame is malformed or of another game board size
+   */
+  public void decode(ByteBuffer in) {
+    int framing = in.get();
+    int frameRows = in.getInt();
+    int frameColumns = in.getInt();
+    if (frameRows != rows || frameColumns != columns) {
+      throw new IllegalArgumentException("Expected a frame of " + rows + "x" + columns + ", got "
+          + frameRows + "x" + frameColumns);
+    }
+    if (framing < 0 || framing >= FRAMINGS.length) {
+      throw new IllegalArgumentException("Unknown framing " + framing);
+    }
+
+    if (FRAMINGS[framing] == BoardViewEncoder.Framing.RAW) {
+      for (int i = 0; i < view.length; i += 2) {
+        int b = in.get();
+        view[i] = (byte) ((b >> 4) & 0x0F);
+        if (i + 1 < view.length) {
+          view[i + 1] = (byte) (b & 0x0F);
+        }
+      }
+      return;
+    }
+
+    boolean delta = FRAMINGS[framing] == BoardViewEncoder.Framing.DELTA;
+    int i = 0;
+    while (i < view.length) {
+      int length = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = in.get();
+        length |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0 && shift < 32);
+      byte code = in.get();
+      if (length <= 0 || length > view.length - i) {
+        throw new IllegalArgumentException("Invalid run length " + length);
+      }
+      for (int end = i + length; i < end; i++) {
+        view[i] = delta ? (byte) (view[i] ^ code) : code;
+      }
+    }
+  }
+
+  /**
+   * Get the code a player sees for an item, as of the last decoded frame.
+   *
+   * @param row - the row of the item
+   * @param column - the column of the item
+   * @return the number of adjacent mines of a revealed item, or one of the codes of {@link BoardViewEncoder}
+   */
+  public byte getCode(int row, int column) {
+    return view[row * columns + column];
+  }
+}
@@ -0,0 +1,168 @@
+package org.obi_mang.minesweeper;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Encodes what a player can see of a game board into a compact binary frame, for sending to clients.
+ * <p>
+ * Every item is reduced to a four bit code: the number of adjacent mines of a revealed item, or one of
+ * {@link #HIDDEN}, {@link #MARKED}, {@link #MINE} and {@link #CAUSE_OF_DEATH}. A hidden mine is encoded the
+ * same way as any other hidden item, so the frames never give away where the mines are.
+ * <p>
+ * A frame starts with a header of <code>|framing (byte)|rows (int)|columns (int)|</code>, followed by the
+ * codes in one of the {@link Framing}s. Decode frames with {@link BoardViewDecoder}.
+ * <p>
+ * An encoder belongs to a single game board and keeps the previously encoded view for
+ * {@link Framing#DELTA}. It allocates nothing once created.
+ */
+public class BoardViewEncoder {
+  public static final byte HIDDEN = 9;
+  public static final byte MARKED = 10;
+  public static final byte MINE = 11;
+  public static final byte CAUSE_OF_DEATH = 12;
+
+  static final int HEADER_SIZE = 9;
+
+  /**
+   * How the codes of a frame are laid out.
+   */
+  public enum Framing {
+    /** Two codes per byte, row after row. The first code of a byte is in the upper four bits. */
+    RAW,
+    /** Runs of equal codes as <code>|run length (varint)|code (byte)|</code>, over the whole board. */
+    RUN_LENGTH,
+    /**
+     * Runs of the codes XOR the codes of the previous frame, as for {@link #RUN_LENGTH}. Unchanged items
+     * become long runs of zeros. The first frame is relative to a board where everything is hidden.
+     */
+    DELTA
+  }
+
+  private final int rows;
+  private final int columns;
+  private final byte[] current;
+  private final byte[] previous;
+
+  /**
+   * Creates an encoder for a game board of the given size.
+   *
+   * @param rows - the number of rows of the game board to encode
+   * @param columns - the number of columns of the game board to encode
+   */
+  public BoardViewEncoder(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    this.current = new byte[rows * columns];
+    this.previous = new byte[rows * columns];
+    reset();
+  }
+
+  /**
+   * Forget the previously encoded view, so the next {@link Framing#DELTA} frame is relative to a board where
+   * everything is hidden. Use it when a client has to start over.
+   */
+  public void reset() {
+    for (int i = 0; i < previous.length; i++) {
+      previous[i] = HIDDEN;
+    }
+  }
+
+  /**
+   * Get the largest possible size of a frame, whatever the framing.
+   *
+   * @return the number of bytes a buffer needs to have room for
+   */
+  public int getMaxEncodedSize() {
+    // A run of one item takes two bytes, which is more than the raw framing ever needs
+    return HEADER_SIZE + 2 * rows * columns;
+  }
+
+  /**
+   * Get the code a player sees for an item.
+   *
+   * @param item - the game board item
+   * @return the four bit code
+   */
+  public static byte code(GameBoardItem item) {
+    if (item.isHidden()) {
+      return item.isMarked() ? MARKED : HIDDEN;
+    } else if (item.isCauseOfDeath()) {
+      return CAUSE_OF_DEATH;
+    } else if (item.isMine()) {
+      return MINE;
+    }
+    return (byte) item.getAdjacentMines();
+  }
+
+  /**
+   * Encodes the current view of the game board as a frame, written at the position of the buffer.
+   *
+   * @param board - the game board to encode
+   * @param out - the buffer to write to, its position is moved past the frame
+   * @param framing - how to lay out the codes
+   * @return the number of bytes written
+   * @throws java.nio.BufferOverflowException if the buffer has too little room, see {@link #getMaxEncodedSize()}
+   */
+  public int encode(GameBoard board, ByteBuffer out, Framing framing) {
+    List<List<GameBoardItem>> items = board.getGameBoardItems();
+    if (items.size() != rows || (rows > 0 && items.get(0).size() != columns)) {
+      throw new IllegalArgumentException("Expected a game board of " + rows + "x" + columns);
+    }
+    for (int row = 0; row < rows; row++) {
+      List<GameBoardItem> rowItems = items.get(row);
+      for (int column = 0; column < columns; column++) {
+        current[row * columns + column] = code(rowItems.get(column));
+      }
+    }
+
+    int start = out.position();
+    out.put((byte) framing.ordinal());
+    out.putInt(rows);
+    out.putInt(columns);
+    switch (framing) {
+      case RAW:
+        writeRaw(out);
+        break;
+      case RUN_LENGTH:
+        writeRuns(out, false);
+        break;
+      case DELTA:
+        writeRuns(out, true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown framing " + framing);
+    }
+    System.arraycopy(current, 0, previous, 0, current.length);
+    return out.position() - start;
+  }
+
+  private void writeRaw(ByteBuffer out) {
+    int i = 0;
+    for (; i + 1 < current.length; i += 2) {
+      out.put((byte) (current[i] << 4 | current[i + 1]));
+    }
+    if (i < current.length) {
+      out.put((byte) (current[i] << 4));
+    }
+  }
+
+  private void writeRuns(ByteBuffer out, boolean delta) {
+    int i = 0;
+    while (i < current.length) {
+      byte code = delta ? (byte) (current[i] ^ previous[i]) : current[i];
+      int runEnd = i + 1;
+      while (runEnd < current.length && (delta ? current[runEnd] ^ previous[runEnd] : current[runEnd]) == code) {
+        runEnd++;
+      }
+      int length = runEnd - i;
+      while ((length & ~0x7F) != 0) {
+        out.put((byte) ((length & 0x7F) | 0x80));
+        length >>>= 7;
+      }
+      out.put((byte) length);
+      out.put(code);
+      i = runEnd;
+    }
+  }
+}
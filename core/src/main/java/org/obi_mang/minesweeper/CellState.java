@@ -0,0 +1,116 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Compact single byte representation of a {@link GameBoardItem}.
+ * <p>
+ * The lower four bits hold the number of adjacent mines, the upper four bits hold the flags:<br>
+ * <code>
+ * |causeOfDeath|marked|hidden|mine|adjacent mines (4 bits)|
+ * </code>
+ * <p>
+ * It is the complete state, mines of hidden items included, as stored by a {@link GameBoardWriter}. Never
+ * send it to a player, see {@link GameBoard#getCellState(int)} for what a player may see.
+ */
+public final class CellState {
+  public static final int ADJACENT_MINES_MASK = 0x0F;
+  public static final int MINE = 0x10;
+  public static final int HIDDEN = 0x20;
+  public static final int MARKED = 0x40;
+  public static final int CAUSE_OF_DEATH = 0x80;
+
+  private CellState() {
+    // Only static helpers in here
+  }
+
+  /**
+   * Packs the state of a game board item into a single byte.
+   *
+   * @param item - the game board item to pack
+   * @return the packed state
+   */
+  public static byte pack(GameBoardItem item) {
+    int state = item.getAdjacentMines() & ADJACENT_MINES_MASK;
+    if (item.isMine()) {
+      state |= MINE;
+    }
+    if (item.isHidden()) {
+      state |= HIDDEN;
+    }
+    if (item.isMarked()) {
+      state |= MARKED;
+    }
+    if (item.isCauseOfDeath()) {
+      state |= CAUSE_OF_DEATH;
+    }
+    return (byte) state;
+  }
+
+  /**
+   * Creates a new game board item from a packed state.
+   *
+   * @param state - the packed state
+   * @return a new game board item
+   */
+  public static GameBoardItem unpack(byte state) {
+    GameBoardItem item = new GameBoardItem(isMine(state));
+    item.setAdjacentMines(getAdjacentMines(state));
+    item.setMarked(isMarked(state));
+    if (!isHidden(state)) {
+      item.setVisible();
+    }
+    if (isCauseOfDeath(state)) {
+      item.setCauseOfDeath();
+    }
+    return item;
+  }
+
+  /**
+   * Get the amount of adjacent mines of a packed item.
+   *
+   * @param state - the packed state
+   * @return the number of adjacent mines
+   */
+  public static int getAdjacentMines(byte state) {
+    return state & ADJACENT_MINES_MASK;
+  }
+
+  /**
+   * Check if a packed item is a mine.
+   *
+   * @param state - the packed state
+   * @return true if the packed item is a mine, otherwise false
+   */
+  public static boolean isMine(byte state) {
+    return (state & MINE) != 0;
+  }
+
+  /**
+   * Check if a packed item is hidden.
+   *
+   * @param state - the packed state
+   * @return true if the packed item is hidden, otherwise false
+   */
+  public static boolean isHidden(byte state) {
+    return (state & HIDDEN) != 0;
+  }
+
+  /**
+   * Check if a packed item is marked as a potential mine.
+   *
+   * @param state - the packed state
+   * @return true if the packed item is marked, otherwise false
+   */
+  public static boolean isMarked(byte state) {
+    return (state & MARKED) != 0;
+  }
+
+  /**
+   * Check if a packed item was the cause of death.
+   *
+   * @param state - the packed state
+   * @return true if the packed item was the cause of death, otherwise false
+   */
+  public static boolean isCauseOfDeath(byte state) {
+    return (state & CAUSE_OF_DEATH) != 0;
+  }
+}
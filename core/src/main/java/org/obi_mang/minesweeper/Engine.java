@@ -1,6 +1,7 @@
 package org.obi_mang.minesweeper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -30,25 +31,92 @@ public class Engine {
    * Creates a new game board based on the engine settings.
    *  
    * @return a new crisp game board
+   * @throws IllegalArgumentException if the game board would have more than {@link Integer#MAX_VALUE} items,
+   *         use {@link #getOffHeapGameBoard()} for such game boards
    */
   public GameBoard getGameBoard() {
-    int totalNumberOfItems = engineSettings.getRowSize() * engineSettings.getColumnSize();
+    int totalNumberOfItems;
+    try {
+      totalNumberOfItems = Math.multiplyExact(engineSettings.getRowSize(), engineSettings.getColumnSize());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Too many items for a GameBoard, use an OffHeapGameBoard instead", e);
+    }
     List<GameBoardItem> allItems = createListWithMines(totalNumberOfItems);
     
     Collections.shuffle(allItems, getRandom());
     
     List<List<GameBoardItem>> split = splitList(allItems, engineSettings.getRowSize(), engineSettings.getColumnSize());
     
-    calculateAdjacentMines(split);
+    return createGameBoard(split, allItems);
+  }
+  
+  /**
+   * Creates a new game board based on the engine settings, reusing the items of a game board that is no
+   * longer needed. The result is the same as for {@link #getGameBoard()}, but without allocating new items.
+   * <p>
+   * The items can only be reused if the old game board was created by an engine with the same amount of rows
+   * and columns, otherwise this is the same as {@link #getGameBoard()}. The old game board must not be used
+   * afterwards.
+   * 
+   * @param oldBoard - the game board to reuse the items of, may be null
+   * @return a new crisp game board
+   */
+  public GameBoard getGameBoard(GameBoard oldBoard) {
+    List<GameBoardItem> allItems = oldBoard == null ? null : oldBoard.getAllItems();
+    List<List<GameBoardItem>> split = oldBoard == null ? null : oldBoard.getGameBoardItems();
+    if (allItems == null || split.size() != engineSettings.getRowSize()
+        || (long) allItems.size() != (long) engineSettings.getRowSize() * engineSettings.getColumnSize()) {
+      return getGameBoard();
+    }
+    
+    // Back to the order of createListWithMines, so the shuffle places the mines the same way
+    for (int i = 0; i < allItems.size(); i++) {
+      allItems.get(i).reset(i < engineSettings.getAmountOfMines());
+    }
+    
+    Collections.shuffle(allItems, getRandom());
     
-    return new GameBoard(split);
+    return createGameBoard(split, allItems);
+  }
+  
+  /**
+   * Creates a new game board stored outside of the Java heap, based on the engine settings.
+   * <p>
+   * The mines are placed by drawing random indexes until the wanted amount of mines has been placed, which
+   * is proportional to the amount of mines rather than the size of the game board. Hence the layout differs
+   * from the one of {@link #getGameBoard()} with the same random seed.
+   * 
+   * @return a new crisp game board
+   * @throws IllegalArgumentException if there are more mines than items
+   */
+  public OffHeapGameBoard getOffHeapGameBoard() {
+    OffHeapGameBoard board = new OffHeapGameBoard(engineSettings.getRowSize(), engineSettings.getColumnSize());
+    if (engineSettings.getAmountOfMines() > board.getSize()) {
+      throw new IllegalArgumentException("More mines than items on the game board");
+    }
+    
+    Random random = getRandom();
+    int placedMines = 0;
+    while (placedMines < engineSettings.getAmountOfMines()) {
+      long index = (random.nextLong() >>> 1) % board.getSize();
+      if (board.placeMine(index)) {
+        placedMines++;
+      }
+    }
+    
+    return board;
   }
   
   /**
    * Reveals the item located on the specified row and column.
    * <p>
    * It is also in charge of determine if the game is done by either death or victory.
-   * The game board and its items are updated accordingly. 
+   * The game board and its items are updated accordingly. Every change marks its tile as changed, see
+   * {@link GameBoard#getChangedTiles(long, int, int, int, int, int[])}, and is published on the
+   * {@link BoardEventBus} of the game board, if it has one.
+   * <p>
+   * Revealing an item without adjacent mines also reveals the items around it, see
+   * {@link #revealAdjacentItems(GameBoard, int)}, which never recurses however large the opened part is.
    * 
    * @param board - the game board reveal items on
    * @param row - the row of the wanted game board item
@@ -64,24 +132,100 @@ public class Engine {
       board.setDead();
       item.setCauseOfDeath();
       showMines(board);
+      recordChange(board, BoardEvent.Type.DEATH, row, column, item);
     } else {
-      item.setVisible();
+      board.setVisible(item);
+      recordChange(board, BoardEvent.Type.REVEALED, row, column, item);
       
-      if(hasWon(board)) {
+      int columns = engineSettings.getColumnSize();
+      int lastIndex = row * columns + column;
+      if (item.getAdjacentMines() == 0) {
+        if (revealRegion(board, row, column)) {
+          // The region checks for victory itself, once all of it is revealed
+          return;
+        }
+        lastIndex = revealAdjacentItems(board, lastIndex);
+      }
+      if (hasWon(board)) {
+        board.setVictorious();
+        recordChange(board, BoardEvent.Type.VICTORY, lastIndex / columns, lastIndex % columns,
+            board.getGameBoardItem(lastIndex));
+      }
+    }
+  }
+  
+  /**
+   * Reveals the item located on the specified row and column of an off heap game board.
+   * <p>
+   * Behaves like {@link #reveal(GameBoard, int, int)}, the additional items are revealed with an explicit
+   * queue too, since a single reveal may open a very large part of the game board.
+   * 
+   * @param board - the game board reveal items on
+   * @param row - the row of the wanted game board item
+   * @param column - the column of the wanted game board item
+   */
+  public void reveal(OffHeapGameBoard board, int row, int column) {
+    long index = board.getIndex(row, column);
+    
+    if (!board.isHidden(index) || board.isMarked(index)) {
+      // Do nothing
+      return;
+    } else if (board.isMine(index)) {
+      board.setDead();
+      board.setCauseOfDeath(index);
+      showMines(board);
+      return;
+    }
+    
+    board.setVisible(index);
+    if (board.getAdjacentMines(row, column) != 0) {
+      if (board.getHiddenItemsLeft() == 0) {
         board.setVictorious();
-      } else if (item.getAdjacentMines() == 0) {
-        // Voodoo magic to reveal additional items
-        for (int r = row - 1; r < row + 2; r++) {
-          if (r >= 0 && r < engineSettings.getRowSize()) {
-            for (int c = column - 1; c < column + 2; c++) {
-              if (c >= 0 && c < engineSettings.getColumnSize()) {
-                reveal(board, r, c);
+      }
+      return;
+    }
+    
+    // Breadth first, so the queue only has to hold the border of what has been revealed so far
+    long[] queue = new long[64];
+    int head = 0;
+    int queueSize = 0;
+    queue[queueSize++] = index;
+    
+    int columnSize = board.getColumnSize();
+    while (queueSize > 0) {
+      long current = queue[head];
+      head = (head + 1) % queue.length;
+      queueSize--;
+      int currentRow = (int) (current / columnSize);
+      int currentColumn = (int) (current % columnSize);
+      for (int r = currentRow - 1; r < currentRow + 2; r++) {
+        if (r >= 0 && r < board.getRowSize()) {
+          for (int c = currentColumn - 1; c < currentColumn + 2; c++) {
+            long adjacent = (long) r * columnSize + c;
+            if (c >= 0 && c < columnSize && board.isHidden(adjacent) && !board.isMarked(adjacent)) {
+              // Surrounded by zero adjacent mines, so never a mine itself
+              board.setVisible(adjacent);
+              if (board.getAdjacentMines(r, c) == 0) {
+                if (queueSize == queue.length) {
+                  long[] grown = new long[queue.length * 2];
+                  for (int i = 0; i < queueSize; i++) {
+                    grown[i] = queue[(head + i) % queue.length];
+                  }
+                  queue = grown;
+                  head = 0;
+                }
+                queue[(head + queueSize) % queue.length] = adjacent;
+                queueSize++;
               }
             }
           }
         }
       }
     }
+    
+    if (board.getHiddenItemsLeft() == 0) {
+      board.setVictorious();
+    }
   }
   
   /**
@@ -106,6 +250,28 @@ public class Engine {
     doMark(board, row, column, false);
   }
   
+  /**
+   * Mark an item on the off heap game board as a mine.
+   * 
+   * @param board - the game board to mark an item on
+   * @param row - the row of the item to mark
+   * @param column - the column of the item to mark
+   */
+  public void mark(OffHeapGameBoard board, int row, int column) {
+    board.setMarked(board.getIndex(row, column), true);
+  }
+  
+  /**  
+   * Unmark an item on the off heap game board as a mine.
+   * 
+   * @param board - the game board to unmark an item on
+   * @param row - the row of the item to unmark
+   * @param column - the column of the item to unmark
+   */
+  public void unmark(OffHeapGameBoard board, int row, int column) {
+    board.setMarked(board.getIndex(row, column), false);
+  }
+  
   /**
    * Returns an instance of {@link Random} seeded with the seed appointed in the engine settings.
    * 
@@ -136,6 +302,29 @@ public class Engine {
     return items;
   }
   
+  /**
+   * Wraps the shuffled items of a new game board. Then either counts the adjacent mines of every item, or
+   * leaves them to be counted lazily, and labels the regions, as the engine settings say.
+   * 
+   * @param split - the rows of the game board items
+   * @param allItems - all game board items, which the rows are views of
+   * @return a new game board
+   */
+  protected GameBoard createGameBoard(List<List<GameBoardItem>> split, List<GameBoardItem> allItems) {
+    GameBoard board = new GameBoard(split, allItems);
+    if (engineSettings.isLazyAdjacentMines()) {
+      for (int i = 0; i < allItems.size(); i++) {
+        allItems.get(i).setLazyAdjacentMines(board, i);
+      }
+    } else {
+      calculateAdjacentMines(split);
+    }
+    if (engineSettings.isZeroRegionIndex()) {
+      board.setZeroRegionIndex(new ZeroRegionIndex(split));
+    }
+    return board;
+  }
+  
   /**
    * Splits a list into a list of sublists.
    * 
@@ -222,13 +411,112 @@ public class Engine {
     return totalFoundMines;
   }
   
+  /**
+   * Reveals the precomputed region of an item without adjacent mines, if the game board has one.
+   * <p>
+   * Marked items are left hidden. If a marked item has no adjacent mines, it stops the search from spreading
+   * past it, which the precomputed region does not know about. Then the region is walked breadth first from
+   * the revealed item instead, with the marked items as walls, which still only visits the region once.
+   * 
+   * @param board - the game board to reveal items on
+   * @param row - the row of the revealed item
+   * @param column - the column of the revealed item
+   * @return true if the region was revealed, false if the game board has no precomputed regions
+   */
+  protected boolean revealRegion(GameBoard board, int row, int column) {
+    ZeroRegionIndex index = board.getZeroRegionIndex();
+    if (index == null) {
+      return false;
+    }
+    
+    int columns = engineSettings.getColumnSize();
+    int start = index.getRegionStart(row * columns + column);
+    int end = index.getRegionEnd(row * columns + column);
+    int[] regionItems = index.getRegionItems();
+    
+    boolean markedZero = false;
+    for (int i = start; i < end && !markedZero; i++) {
+      int itemIndex = regionItems[i];
+      markedZero = index.hasRegion(itemIndex) && board.getGameBoardItem(itemIndex).isMarked();
+    }
+    // The clicked item is already revealed, it is the last one unless the region reveals more
+    int lastIndex = row * columns + column;
+    if (markedZero) {
+      lastIndex = revealAdjacentItems(board, lastIndex);
+    } else {
+      for (int i = start; i < end; i++) {
+        int itemIndex = regionItems[i];
+        GameBoardItem item = board.getGameBoardItem(itemIndex);
+        if (item.isHidden() && !item.isMarked()) {
+          board.setVisible(item);
+          recordChange(board, BoardEvent.Type.REVEALED, itemIndex / columns, itemIndex % columns, item);
+          lastIndex = itemIndex;
+        }
+      }
+    }
+    
+    if (hasWon(board)) {
+      board.setVictorious();
+      recordChange(board, BoardEvent.Type.VICTORY, lastIndex / columns, lastIndex % columns,
+          board.getGameBoardItem(lastIndex));
+    }
+    return true;
+  }
+  
+  /**
+   * Reveals the items around a revealed item without adjacent mines, and around every item without adjacent
+   * mines revealed that way. The items are visited breadth first with an explicit queue, so a large region
+   * neither recurses deeply nor is visited more than once. Marked items are left hidden.
+   * 
+   * @param board - the game board to reveal items on
+   * @param index - the index of the revealed item, <code>row * columns + column</code>
+   * @return the index of the last revealed item, or the given index if nothing was revealed
+   */
+  protected int revealAdjacentItems(GameBoard board, int index) {
+    int rows = engineSettings.getRowSize();
+    int columns = engineSettings.getColumnSize();
+    int[] queue = new int[64];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = index;
+    int lastIndex = index;
+    
+    while (head < tail) {
+      int current = queue[head++];
+      int row = current / columns;
+      int column = current % columns;
+      for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+        for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+          int itemIndex = r * columns + c;
+          GameBoardItem item = board.getGameBoardItem(itemIndex);
+          if (!item.isHidden() || item.isMarked()) {
+            continue;
+          }
+          board.setVisible(item);
+          recordChange(board, BoardEvent.Type.REVEALED, r, c, item);
+          lastIndex = itemIndex;
+          if (item.getAdjacentMines() == 0) {
+            if (tail == queue.length) {
+              queue = Arrays.copyOf(queue, queue.length * 2);
+            }
+            queue[tail++] = itemIndex;
+          }
+        }
+      }
+    }
+    return lastIndex;
+  }
+  
   /**
    * Commonality method for {@link Engine#mark(GameBoard, int, int)} and {@link Engine#unmark(GameBoard, int, int)}
    */
   protected void doMark(GameBoard board, int row, int column, boolean marked) {
     GameBoardItem item = board.getGameBoardItems().get(row).get(column);
     
-    item.setMarked(marked);
+    if (item.isMarked() != marked) {
+      item.setMarked(marked);
+      recordChange(board, marked ? BoardEvent.Type.MARKED : BoardEvent.Type.UNMARKED, row, column, item);
+    }
   }
   
   /**
@@ -237,10 +525,47 @@ public class Engine {
    * @param board - the game board to show all mines on.
    */
   protected void showMines(GameBoard board) {
-    board.getGameBoardItems().stream()
-      .flatMap(List::stream)
-      .filter(item -> item.isMine())
-      .forEach(item -> item.setVisible());
+    int columns = board.getColumnSize();
+    for (int index = board.nextMineIndex(0); index >= 0; index = board.nextMineIndex(index + 1)) {
+      GameBoardItem item = board.getGameBoardItem(index);
+      if (item.isHidden()) {
+        board.setVisible(item);
+        recordChange(board, BoardEvent.Type.REVEALED, index / columns, index % columns, item);
+      }
+    }
+  }
+  
+  /**
+   * Helper method to record a change on the game board. Marks the tile of the concerned item as changed if
+   * the item itself changed, i.e. not for {@link BoardEvent.Type#DEATH} or {@link BoardEvent.Type#VICTORY}, and
+   * publishes an event on the event bus of the game board, if it has one.
+   * 
+   * @param board - the game board the change happened on
+   * @param type - the kind of change
+   * @param row - the row of the concerned item
+   * @param column - the column of the concerned item
+   * @param item - the concerned item
+   */
+  protected void recordChange(GameBoard board, BoardEvent.Type type, int row, int column, GameBoardItem item) {
+    if (type != BoardEvent.Type.DEATH && type != BoardEvent.Type.VICTORY) {
+      board.markChanged(row, column);
+    }
+    BoardEventBus eventBus = board.getEventBus();
+    if (eventBus != null) {
+      // Marks concern hidden items, which must not give away a mine or count their adjacent mines
+      boolean visible = type != BoardEvent.Type.MARKED && type != BoardEvent.Type.UNMARKED;
+      boolean mine = visible && item.isMine();
+      eventBus.publish(type, row, column, visible && !mine ? item.getAdjacentMines() : 0, mine);
+    }
+  }
+  
+  /**
+   * Helper method to show all mines on the off heap game board.
+   * 
+   * @param board - the game board to show all mines on.
+   */
+  protected void showMines(OffHeapGameBoard board) {
+    board.setMinesVisible();
   }
   
   /**
@@ -250,9 +575,6 @@ public class Engine {
    * @return true if the only hidden items left on the board are mines, otherwise false.
    */
   protected boolean hasWon(GameBoard board) {
-    return board.getGameBoardItems().stream()
-        .flatMap(List::stream)
-        .filter(item -> item.isHidden())
-        .allMatch(item -> item.isMine());
+    return board.getHiddenItemsLeft() == 0;
   }
 }
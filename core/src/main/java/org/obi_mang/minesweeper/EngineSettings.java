@@ -10,13 +10,18 @@ public class EngineSettings {
   private int columnSize;
   private int amountOfMines;
   private long randomSeed;
+  private boolean zeroRegionIndex;
+  private boolean lazyAdjacentMines;
 
-  protected EngineSettings(int rowSize, int columnSize, int amountOfMines, long randomSeed) {
+  protected EngineSettings(int rowSize, int columnSize, int amountOfMines, long randomSeed,
+      boolean zeroRegionIndex, boolean lazyAdjacentMines) {
     super();
     this.rowSize = rowSize;
     this.columnSize = columnSize;
     this.amountOfMines = amountOfMines;
     this.randomSeed = randomSeed;
+    this.zeroRegionIndex = zeroRegionIndex;
+    this.lazyAdjacentMines = lazyAdjacentMines;
   }
 
   /**
@@ -54,4 +59,22 @@ public class EngineSettings {
   public long getRandomSeed() {
     return randomSeed;
   }
+
+  /**
+   * Check if the regions of items without adjacent mines are labeled when a game board is created.
+   * 
+   * @return true if the regions are precomputed, otherwise false
+   */
+  public boolean isZeroRegionIndex() {
+    return zeroRegionIndex;
+  }
+
+  /**
+   * Check if the adjacent mines of an item are only counted once they are needed.
+   * 
+   * @return true if the adjacent mines are counted lazily, otherwise false
+   */
+  public boolean isLazyAdjacentMines() {
+    return lazyAdjacentMines;
+  }
 }
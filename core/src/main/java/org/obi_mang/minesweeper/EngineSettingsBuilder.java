@@ -23,6 +23,8 @@ public class EngineSettingsBuilder {
   private int columnSize;
   private int amountOfMines;
   private long randomSeed;
+  private boolean zeroRegionIndex;
+  private boolean lazyAdjacentMines;
   
   /**
    * Creates a builder with predefined values for an easy game board.
@@ -33,6 +35,23 @@ public class EngineSettingsBuilder {
     columnSize = EASY_COLUMN_SIZE;
     amountOfMines = EASY_AMOUNT_OF_MINES;
     randomSeed = System.currentTimeMillis();
+    zeroRegionIndex = false;
+    lazyAdjacentMines = false;
+  }
+  
+  /**
+   * Creates a builder with the values of existing engine settings.
+   * 
+   * @param engineSettings - the settings to start from
+   */
+  public EngineSettingsBuilder(EngineSettings engineSettings) {
+    super();
+    rowSize = engineSettings.getRowSize();
+    columnSize = engineSettings.getColumnSize();
+    amountOfMines = engineSettings.getAmountOfMines();
+    randomSeed = engineSettings.getRandomSeed();
+    zeroRegionIndex = engineSettings.isZeroRegionIndex();
+    lazyAdjacentMines = engineSettings.isLazyAdjacentMines();
   }
   
   /**
@@ -84,12 +103,41 @@ public class EngineSettingsBuilder {
     return this;
   }
   
+  /**
+   * Set if the regions of items without adjacent mines should be labeled when a game board is created.<br>
+   * Revealing such an item then reveals its precomputed region, instead of searching for it.
+   * This makes the creation of a game board slower, but every reveal predictable.
+   * 
+   * @param zeroRegionIndex - true if the regions should be precomputed
+   * @return this builder
+   */
+  public EngineSettingsBuilder withZeroRegionIndex(boolean zeroRegionIndex) {
+    this.zeroRegionIndex = zeroRegionIndex;
+    return this;
+  }
+  
+  /**
+   * Set if the adjacent mines of an item should only be counted once it is revealed, or once they are read
+   * with {@link GameBoardItem#getAdjacentMines()}, instead of for every item when a game board is created.
+   * <p>
+   * This makes the creation of large game boards faster, since most items are never revealed.
+   * It has no effect together with {@link #withZeroRegionIndex(boolean)}, which needs all counts up front.
+   * 
+   * @param lazyAdjacentMines - true if the adjacent mines should be counted lazily
+   * @return this builder
+   */
+  public EngineSettingsBuilder withLazyAdjacentMines(boolean lazyAdjacentMines) {
+    this.lazyAdjacentMines = lazyAdjacentMines;
+    return this;
+  }
+  
   /**
    * Creates the engine settings based on the given input.
    * 
    * @return {@link EngineSettings}
    */
   public EngineSettings build() {
-    return new EngineSettings(rowSize, columnSize, amountOfMines, randomSeed);
+    return new EngineSettings(rowSize, columnSize, amountOfMines, randomSeed, zeroRegionIndex,
+        lazyAdjacentMines);
   }
 }
@@ -1,5 +1,6 @@
 package org.obi_mang.minesweeper;
 
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -8,12 +9,56 @@ import java.util.List;
  * Obtain an instance from an {@link Engine}
  */
 public class GameBoard {
+  /**
+   * The number of rows and columns covered by a tile, see {@link #getChangedTiles(long, int, int, int, int, int[])}.
+   */
+  public static final int TILE_SIZE = 16;
+  
   private List<List<GameBoardItem>> gameBoardItems;
+  private List<GameBoardItem> allItems;
+  private int rowSize;
+  private int columnSize;
+  private BitSet mines;
+  private int hiddenItemsLeft;
+  private int tileColumnSize;
+  private long[] tileVersions;
+  private long version;
   private boolean dead;
   private boolean victorious;
+  private ZeroRegionIndex zeroRegionIndex;
+  private BoardEventBus eventBus;
   
   protected GameBoard(List<List<GameBoardItem>> gameBoardItems) {
+    this(gameBoardItems, null);
+  }
+  
+  /**
+   * Wraps the game board items of a new game board.
+   * 
+   * @param gameBoardItems - the rows of the game board items
+   * @param allItems - all game board items, which the rows are views of, or null if the rows are not views
+   */
+  protected GameBoard(List<List<GameBoardItem>> gameBoardItems, List<GameBoardItem> allItems) {
     this.gameBoardItems = gameBoardItems;
+    this.allItems = allItems;
+    rowSize = gameBoardItems.size();
+    columnSize = rowSize == 0 ? 0 : gameBoardItems.get(0).size();
+    mines = new BitSet(rowSize * columnSize);
+    hiddenItemsLeft = 0;
+    for (int row = 0; row < rowSize; row++) {
+      List<GameBoardItem> items = gameBoardItems.get(row);
+      for (int column = 0; column < columnSize; column++) {
+        GameBoardItem item = items.get(column);
+        if (item.isMine()) {
+          mines.set(row * columnSize + column);
+        } else if (item.isHidden()) {
+          hiddenItemsLeft++;
+        }
+      }
+    }
+    tileColumnSize = (columnSize + TILE_SIZE - 1) / TILE_SIZE;
+    tileVersions = new long[((rowSize + TILE_SIZE - 1) / TILE_SIZE) * tileColumnSize];
+    version = 0;
     dead = false;
     victorious = false;
   }
@@ -29,6 +74,205 @@ public class GameBoard {
     return gameBoardItems;
   }
 
+  /**
+   * Get all the game board items as one list, row after row.
+   * 
+   * @return the list the rows are views of, or null if the rows are not views
+   */
+  protected List<GameBoardItem> getAllItems() {
+    return allItems;
+  }
+
+  /**
+   * Get the amount of rows on the game board.
+   * 
+   * @return the number of rows
+   */
+  public int getRowSize() {
+    return rowSize;
+  }
+  
+  /**
+   * Get the amount of columns for each row on the game board.
+   * 
+   * @return the number of columns for each row
+   */
+  public int getColumnSize() {
+    return columnSize;
+  }
+  
+  /**
+   * Get the total amount of items on the game board. Items are also addressed by an index between zero and
+   * this, where the index of an item is <code>row * columns + column</code>.
+   * 
+   * @return the number of items
+   */
+  public int getSize() {
+    return rowSize * columnSize;
+  }
+  
+  /**
+   * Get what a player sees of an item, coded as by {@link BoardViewEncoder#code(GameBoardItem)}. A hidden item
+   * is only ever {@link BoardViewEncoder#HIDDEN} or {@link BoardViewEncoder#MARKED}, so it neither gives away
+   * a mine nor has its adjacent mines counted.
+   * 
+   * @param index - the index of the item
+   * @return the number of adjacent mines of a revealed item, or one of the codes of {@link BoardViewEncoder}
+   */
+  public byte getCellState(int index) {
+    return BoardViewEncoder.code(getGameBoardItem(index));
+  }
+  
+  /**
+   * Get what a player sees of the item located on the specified row and column, see
+   * {@link #getCellState(int)}.
+   * 
+   * @param row - the row of the item
+   * @param column - the column of the item
+   * @return the number of adjacent mines of a revealed item, or one of the codes of {@link BoardViewEncoder}
+   */
+  public byte getCellState(int row, int column) {
+    return BoardViewEncoder.code(gameBoardItems.get(row).get(column));
+  }
+  
+  /**
+   * Copies what a player sees of a rectangle of items into an array, row after row, coded as by
+   * {@link #getCellState(int)}. Nothing is allocated, so this is meant for renderers and bots reading the game
+   * board over and over.
+   * 
+   * @param row - the first row of the rectangle
+   * @param column - the first column of the rectangle
+   * @param rows - the number of rows of the rectangle
+   * @param columns - the number of columns of the rectangle
+   * @param states - the array to copy the codes into
+   * @param offset - where in the array to put the first state
+   * @throws IndexOutOfBoundsException if the rectangle is not on the game board, or does not fit in the array
+   */
+  public void copyViewport(int row, int column, int rows, int columns, byte[] states, int offset) {
+    if (row < 0 || column < 0 || rows < 0 || columns < 0 || row + rows > rowSize || column + columns > columnSize
+        || offset < 0 || offset + rows * columns > states.length) {
+      throw new IndexOutOfBoundsException("Viewport of " + rows + "x" + columns + " at row " + row
+          + ", column " + column);
+    }
+    for (int r = 0; r < rows; r++) {
+      List<GameBoardItem> items = gameBoardItems.get(row + r);
+      for (int c = 0; c < columns; c++) {
+        states[offset++] = BoardViewEncoder.code(items.get(column + c));
+      }
+    }
+  }
+  
+  /**
+   * Find the next mine on the game board. Iterate over all mines with:<br>
+   * <code>
+   * for (int i = board.nextMineIndex(0); i &gt;= 0; i = board.nextMineIndex(i + 1))
+   * </code>
+   * 
+   * @param fromIndex - the index to start looking from, inclusive
+   * @return the index of the next mine, or -1 if there are no more mines
+   */
+  public int nextMineIndex(int fromIndex) {
+    return mines.nextSetBit(fromIndex);
+  }
+  
+  /**
+   * Get the version of the game board. It starts at zero, and goes up with every item changed through the
+   * {@link Engine}, i.e. revealed, marked or unmarked.
+   * 
+   * @return the current version
+   */
+  public long getVersion() {
+    return version;
+  }
+  
+  /**
+   * Find the tiles within a rectangle with items that have changed since a version.<br>
+   * The game board is split into tiles of {@link #TILE_SIZE} by {@link #TILE_SIZE} items, and each tile
+   * remembers the version of its latest change. A client showing part of the game board can remember
+   * {@link #getVersion()} when it reads, and later ask for the tiles to read again.
+   * <p>
+   * A tile is referred to by its index, <code>tileRow * tileColumns + tileColumn</code>, where
+   * <code>tileRow = row / TILE_SIZE</code> and <code>tileColumns</code> is the number of columns divided by
+   * {@link #TILE_SIZE}, rounded up.
+   * 
+   * @param sinceVersion - the version the client last read at
+   * @param row - the first row of the rectangle
+   * @param column - the first column of the rectangle
+   * @param rows - the number of rows of the rectangle
+   * @param columns - the number of columns of the rectangle
+   * @param tiles - the array to put the indexes of the changed tiles in, must have room for every tile the
+   *        rectangle covers
+   * @return the number of changed tiles put into the array
+   */
+  public int getChangedTiles(long sinceVersion, int row, int column, int rows, int columns, int[] tiles) {
+    if (row < 0 || column < 0 || rows < 0 || columns < 0 || row + rows > rowSize || column + columns > columnSize) {
+      throw new IndexOutOfBoundsException("Rectangle of " + rows + "x" + columns + " at row " + row
+          + ", column " + column);
+    }
+    if (rows == 0 || columns == 0 || sinceVersion >= version) {
+      return 0;
+    }
+    int count = 0;
+    for (int tileRow = row / TILE_SIZE; tileRow <= (row + rows - 1) / TILE_SIZE; tileRow++) {
+      for (int tileColumn = column / TILE_SIZE; tileColumn <= (column + columns - 1) / TILE_SIZE; tileColumn++) {
+        int tile = tileRow * tileColumnSize + tileColumn;
+        if (tileVersions[tile] > sinceVersion) {
+          tiles[count++] = tile;
+        }
+      }
+    }
+    return count;
+  }
+  
+  /**
+   * Record that the item located on the specified row and column has changed, by moving the game board to a
+   * new version and stamping the tile of the item with it.
+   * 
+   * @param row - the row of the changed item
+   * @param column - the column of the changed item
+   */
+  protected void markChanged(int row, int column) {
+    tileVersions[(row / TILE_SIZE) * tileColumnSize + column / TILE_SIZE] = ++version;
+  }
+  
+  /**
+   * Get the amount of items that are neither mines nor revealed. Items revealed with
+   * {@link GameBoardItem#setVisible()} rather than {@link #setVisible(GameBoardItem)} are not counted.
+   * 
+   * @return the number of safe items left to reveal
+   */
+  protected int getHiddenItemsLeft() {
+    return hiddenItemsLeft;
+  }
+  
+  /**
+   * Set an item of this game board to be visible, and keep count of the safe items left to reveal.
+   * The {@link Engine} reveals items through here rather than {@link GameBoardItem#setVisible()}.
+   * 
+   * @param item - the game board item to reveal
+   */
+  protected void setVisible(GameBoardItem item) {
+    if (item.isHidden()) {
+      item.setVisible();
+      if (!item.isMine()) {
+        hiddenItemsLeft--;
+      }
+    }
+  }
+  
+  /**
+   * Get an item by its index.
+   * 
+   * @param index - the index of the item
+   * @return the game board item
+   */
+  protected GameBoardItem getGameBoardItem(int index) {
+    if (allItems != null) {
+      return allItems.get(index);
+    }
+    return gameBoardItems.get(index / columnSize).get(index % columnSize);
+  }
+
   /**
    * Check if the game is over.<br>
    * A game is considered over if the player died or cleared all items on the board except for the mines.
@@ -39,6 +283,24 @@ public class GameBoard {
     return (isDead() || isVictorious());
   }
   
+  /**
+   * Get the bus the engine publishes the changes of this game board on.
+   * 
+   * @return the event bus, or null if the changes are not published
+   */
+  public BoardEventBus getEventBus() {
+    return eventBus;
+  }
+  
+  /**
+   * Set the bus the engine should publish the changes of this game board on.
+   * 
+   * @param eventBus - the event bus, or null to stop publishing
+   */
+  public void setEventBus(BoardEventBus eventBus) {
+    this.eventBus = eventBus;
+  }
+  
   /**
    * Check if game board has been set to be dead.
    * 
@@ -71,4 +333,44 @@ public class GameBoard {
   protected void setVictorious() {
     victorious = true;
   }
+  
+  /**
+   * Count the mines adjacent to an item.
+   * 
+   * @param index - the index of the item, <code>row * columns + column</code>
+   * @return the number of adjacent mines
+   */
+  int countAdjacentMines(int index) {
+    int columns = gameBoardItems.get(0).size();
+    int row = index / columns;
+    int column = index % columns;
+    int totalFoundMines = 0;
+    for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, gameBoardItems.size() - 1); r++) {
+      List<GameBoardItem> items = gameBoardItems.get(r);
+      for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+        if (items.get(c).isMine()) {
+          totalFoundMines++;
+        }
+      }
+    }
+    return totalFoundMines;
+  }
+  
+  /**
+   * Get the precomputed regions of items without adjacent mines.
+   * 
+   * @return the index, or null if the regions were not precomputed
+   */
+  ZeroRegionIndex getZeroRegionIndex() {
+    return zeroRegionIndex;
+  }
+  
+  /**
+   * Set the precomputed regions of items without adjacent mines.
+   * 
+   * @param zeroRegionIndex - the index
+   */
+  void setZeroRegionIndex(ZeroRegionIndex zeroRegionIndex) {
+    this.zeroRegionIndex = zeroRegionIndex;
+  }
 }
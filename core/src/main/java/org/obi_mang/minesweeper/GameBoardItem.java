@@ -8,7 +8,10 @@ public class GameBoardItem {
   private boolean hidden;
   private boolean marked;
   private boolean causeOfDeath;
+  // Negative until counted on lazy game boards, see setLazyAdjacentMines
   private int adjacentMines;
+  // Only set on lazy game boards
+  private GameBoard board;
   
   /**
    * An item has to be set to be a mine or not on creation. This cannot change.
@@ -23,6 +26,20 @@ public class GameBoardItem {
     adjacentMines = 0;
   }
 
+  /**
+   * Resets the game board item to the state it had on creation, so it can be reused by the {@link Engine}.
+   * 
+   * @param isMine - true if the game board item is a mine
+   */
+  void reset(boolean isMine) {
+    this.mine = isMine;
+    hidden = true;
+    marked = false;
+    causeOfDeath = false;
+    adjacentMines = 0;
+    board = null;
+  }
+
   /**
    * Check if the game board item is a mine.
    * 
@@ -44,6 +61,10 @@ public class GameBoardItem {
   /**
    * Set the game board item to be visible. This is a one time operation, i.e. once the game board
    * item has been set to visible it cannot be hidden again.
+   * <p>
+   * This only changes the item. The game board it is on keeps count of the hidden items to tell when the
+   * game is won, which this bypasses, so reveal items of a game board with
+   * {@link Engine#reveal(GameBoard, int, int)} instead.
    */
   public void setVisible() {
     this.hidden = false;
@@ -86,11 +107,20 @@ public class GameBoardItem {
 
   /**
    * Get how many mines there are adjacent to the game board item.
+   * <p>
+   * On a game board that counts adjacent mines lazily the first call counts them and stores the count in
+   * the item, so this getter writes to the item. Concurrent first calls may each count, but always store
+   * the same count.
    * 
    * @return the number of adjacent mines
    */
   public int getAdjacentMines() {
-    return adjacentMines;
+    int count = adjacentMines;
+    if (count < 0) {
+      count = board.countAdjacentMines(-count - 1);
+      adjacentMines = count;
+    }
+    return count;
   }
 
   /**
@@ -100,5 +130,18 @@ public class GameBoardItem {
    */
   public void setAdjacentMines(int adjacentMines) {
     this.adjacentMines = adjacentMines;
+    board = null;
+  }
+  
+  /**
+   * Set the adjacent mines to be counted on the game board the first time they are asked for. Until then
+   * the count holds <code>-(index + 1)</code>, so the item needs no field of its own for the index.
+   * 
+   * @param board - the game board the item is on
+   * @param index - the index of the item, <code>row * columns + column</code>
+   */
+  void setLazyAdjacentMines(GameBoard board, int index) {
+    this.board = board;
+    this.adjacentMines = -index - 1;
   }
 }
@@ -0,0 +1,252 @@
+package org.obi_mang.minesweeper;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a game board written by {@link GameBoardWriter}, one row at a time.
+ * <p>
+ * The header is read on creation. Rows can then be read either as packed {@link CellState} bytes into a
+ * reusable array, or as new game board items. The adjacent mines of a row are counted from the mines of
+ * the rows around it, so the reader reads one row ahead and its memory use is bounded by three rows.
+ * <p>
+ * A whole game board can also be read into an {@link OffHeapGameBoard}, which needs no counting at all.
+ */
+public class GameBoardReader implements Closeable {
+  private static final int MINE_FLAG = CellState.MINE >>> 4;
+
+  private final DataInputStream in;
+  private final int rows;
+  private final int columns;
+  private final boolean dead;
+  private final boolean victorious;
+  private int rowsRead;
+  private final byte[] packedRow;
+  // The flags of the rows around the row being read, a row outside of the game board has no mines
+  private byte[] previousFlags;
+  private byte[] currentFlags;
+  private byte[] nextFlags;
+
+  /**
+   * Creates a reader on a stream and reads the header.
+   *
+   * @param in - the stream to read the game board from
+   * @throws IOException if the underlying stream fails or does not contain a game board
+   */
+  public GameBoardReader(InputStream in) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(in));
+    if (this.in.readInt() != GameBoardWriter.MAGIC) {
+      throw new IOException("Not a game board stream");
+    }
+    byte version = this.in.readByte();
+    if (version != GameBoardWriter.VERSION) {
+      throw new IOException("Unsupported game board stream version " + version);
+    }
+    rows = this.in.readInt();
+    columns = this.in.readInt();
+    if (rows < 0 || columns < 0) {
+      throw new IOException("Invalid game board size " + rows + "x" + columns);
+    }
+    byte flags = this.in.readByte();
+    dead = (flags & GameBoardWriter.FLAG_DEAD) != 0;
+    victorious = (flags & GameBoardWriter.FLAG_VICTORIOUS) != 0;
+    rowsRead = 0;
+    packedRow = new byte[(columns + 1) / 2];
+    previousFlags = new byte[columns];
+    currentFlags = new byte[columns];
+    nextFlags = new byte[columns];
+  }
+
+  /**
+   * Creates a reader on a channel and reads the header.
+   *
+   * @param channel - the channel to read the game board from
+   * @throws IOException if the underlying channel fails or does not contain a game board
+   */
+  public GameBoardReader(ReadableByteChannel channel) throws IOException {
+    this(Channels.newInputStream(channel));
+  }
+
+  /**
+   * Get the amount of rows on the game board.
+   *
+   * @return the number of rows in the game board
+   */
+  public int getRowSize() {
+    return rows;
+  }
+
+  /**
+   * Get the amount of columns for each row on the game board.
+   *
+   * @return the number of columns for each row in the game board
+   */
+  public int getColumnSize() {
+    return columns;
+  }
+
+  /**
+   * Check if the game had been lost when the game board was written.
+   *
+   * @return true if the game board had ended by death, otherwise false
+   */
+  public boolean isDead() {
+    return dead;
+  }
+
+  /**
+   * Check if the game had been won when the game board was written.
+   *
+   * @return true if the game board had ended victorious, otherwise false
+   */
+  public boolean isVictorious() {
+    return victorious;
+  }
+
+  /**
+   * Check if there are more rows to read.
+   *
+   * @return true if there are rows left to read, otherwise false
+   */
+  public boolean hasNextRow() {
+    return rowsRead < rows;
+  }
+
+  /**
+   * Reads the next row as packed {@link CellState} bytes, with the adjacent mines counted.
+   *
+   * @param states - the array to fill, must hold at least {@link #getColumnSize()} bytes
+   * @return the given array
+   * @throws IOException if the underlying stream fails or the row is malformed
+   */
+  public byte[] readRow(byte[] states) throws IOException {
+    if (!hasNextRow()) {
+      throw new IllegalStateException("All rows have already been read");
+    }
+    if (states.length < columns) {
+      throw new IllegalArgumentException("Expected room for " + columns + " columns, got " + states.length);
+    }
+    if (rowsRead == 0) {
+      readFlags(nextFlags);
+    }
+    byte[] oldFlags = previousFlags;
+    previousFlags = currentFlags;
+    currentFlags = nextFlags;
+    nextFlags = oldFlags;
+    if (rowsRead + 1 < rows) {
+      readFlags(nextFlags);
+    } else {
+      Arrays.fill(nextFlags, (byte) 0);
+    }
+
+    for (int column = 0; column < columns; column++) {
+      int adjacentMines = 0;
+      for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+        adjacentMines += (previousFlags[c] & MINE_FLAG) + (currentFlags[c] & MINE_FLAG)
+            + (nextFlags[c] & MINE_FLAG);
+      }
+      states[column] = (byte) (currentFlags[column] << 4 | adjacentMines);
+    }
+    rowsRead++;
+    return states;
+  }
+
+  /**
+   * Reads the next row as new game board items.
+   *
+   * @return the game board items of the row
+   * @throws IOException if the underlying stream fails or the row is malformed
+   */
+  public List<GameBoardItem> readRow() throws IOException {
+    byte[] states = readRow(new byte[columns]);
+    List<GameBoardItem> row = new ArrayList<>(columns);
+    for (byte state : states) {
+      row.add(CellState.unpack(state));
+    }
+    return row;
+  }
+
+  /**
+   * Reads all remaining rows and creates a game board out of them.
+   *
+   * @return a new game board
+   * @throws IOException if the underlying stream fails or the rows are malformed
+   */
+  public GameBoard readGameBoard() throws IOException {
+    if (rowsRead != 0) {
+      throw new IllegalStateException("Rows have already been read");
+    }
+    List<List<GameBoardItem>> items = new ArrayList<>(rows);
+    while (hasNextRow()) {
+      items.add(readRow());
+    }
+    GameBoard board = new GameBoard(items);
+    if (dead) {
+      board.setDead();
+    }
+    if (victorious) {
+      board.setVictorious();
+    }
+    return board;
+  }
+
+  /**
+   * Reads all remaining rows into a new off heap game board.
+   *
+   * @return a new off heap game board
+   * @throws IOException if the underlying stream fails or the rows are malformed
+   */
+  public OffHeapGameBoard readOffHeapGameBoard() throws IOException {
+    if (rowsRead != 0) {
+      throw new IllegalStateException("Rows have already been read");
+    }
+    OffHeapGameBoard board = new OffHeapGameBoard(rows, columns);
+    for (; rowsRead < rows; rowsRead++) {
+      readFlags(currentFlags);
+      for (int column = 0; column < columns; column++) {
+        long index = (long) rowsRead * columns + column;
+        int state = currentFlags[column] << 4;
+        if (CellState.isMine((byte) state)) {
+          board.placeMine(index);
+        }
+        if (!CellState.isHidden((byte) state)) {
+          board.setVisible(index);
+        }
+        if (CellState.isMarked((byte) state)) {
+          board.setMarked(index, true);
+        }
+        if (CellState.isCauseOfDeath((byte) state)) {
+          board.setCauseOfDeath(index);
+        }
+      }
+    }
+    if (dead) {
+      board.setDead();
+    }
+    if (victorious) {
+      board.setVictorious();
+    }
+    return board;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private void readFlags(byte[] flags) throws IOException {
+    in.readFully(packedRow);
+    for (int column = 0; column < columns; column++) {
+      int b = packedRow[column >>> 1];
+      flags[column] = (byte) ((column & 1) == 0 ? (b >>> 4) & 0x0F : b & 0x0F);
+    }
+  }
+}
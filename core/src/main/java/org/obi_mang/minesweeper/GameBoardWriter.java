@@ -0,0 +1,204 @@
+package org.obi_mang.minesweeper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Writes a game board to a stream, one row at a time.
+ * <p>
+ * Only the four flags of an item are written, i.e. the upper four bits of its {@link CellState}:<br>
+ * <code>
+ * |causeOfDeath|marked|hidden|mine|
+ * </code><br>
+ * The adjacent mines follow from the mines, so they are not written but counted again when reading. Two
+ * items are packed per byte, the first one in the upper four bits, so a row takes
+ * <code>(columns + 1) / 2</code> bytes. The memory used while writing is bounded by a single row, regardless
+ * of the size of the game board.
+ * <p>
+ * The layout of the stream is:<br>
+ * <code>
+ * |magic (int)|version (byte)|rows (int)|columns (int)|flags (byte)|row 0|row 1|...|<br>
+ * </code>
+ * Both {@link GameBoard}s and {@link OffHeapGameBoard}s can be written. Use {@link GameBoardReader} to read
+ * them back.
+ */
+public class GameBoardWriter implements Closeable {
+  static final int MAGIC = 0x4D535742; // "MSWB"
+  static final byte VERSION = 2;
+  static final byte FLAG_DEAD = 0x01;
+  static final byte FLAG_VICTORIOUS = 0x02;
+
+  private final DataOutputStream out;
+  private int columns;
+  private int rowsLeft;
+  private byte[] packedRow;
+
+  /**
+   * Creates a writer on a stream.
+   *
+   * @param out - the stream to write the game board to
+   */
+  public GameBoardWriter(OutputStream out) {
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+    rowsLeft = -1;
+  }
+
+  /**
+   * Creates a writer on a channel.
+   *
+   * @param channel - the channel to write the game board to
+   */
+  public GameBoardWriter(WritableByteChannel channel) {
+    this(Channels.newOutputStream(channel));
+  }
+
+  /**
+   * Writes the whole game board, header included.
+   *
+   * @param board - the game board to write
+   * @throws IOException if the underlying stream fails
+   */
+  public void write(GameBoard board) throws IOException {
+    List<List<GameBoardItem>> rows = board.getGameBoardItems();
+    int columnSize = rows.isEmpty() ? 0 : rows.get(0).size();
+    writeHeader(rows.size(), columnSize, board.isDead(), board.isVictorious());
+    for (List<GameBoardItem> row : rows) {
+      writeRow(row);
+    }
+    flush();
+  }
+
+  /**
+   * Writes the whole off heap game board, header included.
+   *
+   * @param board - the game board to write
+   * @throws IOException if the underlying stream fails
+   */
+  public void write(OffHeapGameBoard board) throws IOException {
+    writeHeader(board.getRowSize(), board.getColumnSize(), board.isDead(), board.isVictorious());
+    for (int row = 0; row < board.getRowSize(); row++) {
+      checkRow(columns);
+      long index = (long) row * columns;
+      for (int column = 0; column < columns; column++) {
+        // The off heap flags only differ by being revealed rather than hidden
+        pack(column, board.getFlags(index + column) ^ OffHeapGameBoard.REVEALED);
+      }
+      out.write(packedRow);
+    }
+    flush();
+  }
+
+  /**
+   * Writes the header. Must be called once, before any rows are written.
+   *
+   * @param rows - the number of rows that will follow
+   * @param columns - the number of columns in each row
+   * @param dead - if the game has ended by death
+   * @param victorious - if the game has ended victorious
+   * @throws IOException if the underlying stream fails
+   */
+  public void writeHeader(int rows, int columns, boolean dead, boolean victorious) throws IOException {
+    if (rowsLeft >= 0) {
+      throw new IllegalStateException("Header has already been written");
+    }
+    int flags = 0;
+    if (dead) {
+      flags |= FLAG_DEAD;
+    }
+    if (victorious) {
+      flags |= FLAG_VICTORIOUS;
+    }
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(rows);
+    out.writeInt(columns);
+    out.writeByte(flags);
+    this.columns = columns;
+    this.rowsLeft = rows;
+    this.packedRow = new byte[(columns + 1) / 2];
+  }
+
+  /**
+   * Writes the next row of the game board.
+   *
+   * @param row - the game board items of the row
+   * @throws IOException if the underlying stream fails
+   */
+  public void writeRow(List<GameBoardItem> row) throws IOException {
+    checkRow(row.size());
+    for (int column = 0; column < columns; column++) {
+      GameBoardItem item = row.get(column);
+      // Not packed as a CellState, which would count the adjacent mines of lazy game boards for nothing
+      int flags = 0;
+      if (item.isMine()) {
+        flags |= CellState.MINE;
+      }
+      if (item.isHidden()) {
+        flags |= CellState.HIDDEN;
+      }
+      if (item.isMarked()) {
+        flags |= CellState.MARKED;
+      }
+      if (item.isCauseOfDeath()) {
+        flags |= CellState.CAUSE_OF_DEATH;
+      }
+      pack(column, flags >>> 4);
+    }
+    out.write(packedRow);
+  }
+
+  /**
+   * Writes the next row of the game board from already packed cell states. Their adjacent mines are ignored.
+   *
+   * @param states - the packed {@link CellState} of each column in the row
+   * @throws IOException if the underlying stream fails
+   */
+  public void writeRow(byte[] states) throws IOException {
+    checkRow(states.length);
+    for (int column = 0; column < columns; column++) {
+      pack(column, (states[column] & 0xFF) >>> 4);
+    }
+    out.write(packedRow);
+  }
+
+  /**
+   * Flushes any buffered bytes to the underlying stream.
+   *
+   * @throws IOException if the underlying stream fails
+   */
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void checkRow(int size) {
+    if (rowsLeft < 0) {
+      throw new IllegalStateException("Header has not been written");
+    }
+    if (rowsLeft == 0) {
+      throw new IllegalStateException("All rows have already been written");
+    }
+    if (size != columns) {
+      throw new IllegalArgumentException("Expected " + columns + " columns, got " + size);
+    }
+    rowsLeft--;
+  }
+
+  private void pack(int column, int flags) {
+    if ((column & 1) == 0) {
+      packedRow[column >>> 1] = (byte) (flags << 4);
+    } else {
+      packedRow[column >>> 1] |= flags;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package org.obi_mang.minesweeper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks batches of client reported games by replaying them.
+ * <p>
+ * The submissions of a batch are shared between a fixed number of workers, each taking the next submission
+ * when done with the previous one. Every worker reuses the game board items of its previous replay, see
+ * {@link Engine#getGameBoard(GameBoard)}, so boards of the same size allocate next to nothing.
+ * <p>
+ * A replay stops at the first move that loses the game or is illegal, i.e. missing, outside of the game
+ * board or made after the game was over. A broken submission is reported in its own result and never
+ * fails the rest of the batch.
+ */
+public class GameVerifier implements AutoCloseable {
+  /**
+   * The default largest game board to replay, in items.
+   */
+  public static final int DEFAULT_MAX_ITEMS = 1 << 20;
+
+  private final ExecutorService executor;
+  private final int workers;
+  private final int maxItems;
+
+  /**
+   * Creates a verifier with one worker per available processor, accepting game boards up to
+   * {@link #DEFAULT_MAX_ITEMS} items.
+   */
+  public GameVerifier() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_ITEMS);
+  }
+
+  /**
+   * Creates a verifier with a fixed number of workers.
+   *
+   * @param workers - the number of threads to replay on
+   * @param maxItems - the largest game board to replay, larger ones are reported as invalid settings
+   */
+  public GameVerifier(int workers, int maxItems) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("At least one worker is needed, got " + workers);
+    }
+    this.executor = Executors.newFixedThreadPool(workers);
+    this.workers = workers;
+    this.maxItems = maxItems;
+  }
+
+  /**
+   * Replays a batch of submissions in parallel.
+   *
+   * @param submissions - the games to verify
+   * @return one result per submission, and how long it took
+   */
+  public VerificationReport verify(List<Submission> submissions) {
+    long start = System.nanoTime();
+    VerificationResult[] results = new VerificationResult[submissions.size()];
+    AtomicInteger nextSubmission = new AtomicInteger();
+
+    List<Future<?>> futures = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      futures.add(executor.submit(() -> {
+        GameBoard board = null;
+        int index;
+        while ((index = nextSubmission.getAndIncrement()) < results.length) {
+          Submission submission = submissions.get(index);
+          if (submission == null || !isValid(submission.getEngineSettings())) {
+            results[index] = new VerificationResult(VerificationResult.Outcome.INVALID_SETTINGS, -1);
+            continue;
+          }
+          Engine engine;
+          try {
+            engine = EngineFactory.customEngine(submission.getEngineSettings());
+            board = engine.getGameBoard(board);
+          } catch (RuntimeException e) {
+            // A half recycled game board can't be trusted, start over with a new one
+            board = null;
+            results[index] = new VerificationResult(VerificationResult.Outcome.INVALID_SETTINGS, -1);
+            continue;
+          }
+          results[index] = replay(engine, board, submission.getMoves());
+        }
+      }));
+    }
+
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while verifying", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to verify", e.getCause());
+    }
+
+    return new VerificationReport(Collections.unmodifiableList(Arrays.asList(results)), System.nanoTime() - start);
+  }
+
+  /**
+   * Stops the workers. Batches being verified are completed first.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * Replays the moves on a crisp game board.
+   *
+   * @param engine - the engine that created the game board
+   * @param board - the game board to replay on
+   * @param moves - the moves to replay
+   * @return how the replay ended
+   */
+  protected VerificationResult replay(Engine engine, GameBoard board, List<Move> moves) {
+    EngineSettings settings = engine.getEngineSettings();
+    for (int i = 0; i < moves.size(); i++) {
+      Move move = moves.get(i);
+      if (move == null || board.isGameOver()
+          || move.getRow() < 0 || move.getRow() >= settings.getRowSize()
+          || move.getColumn() < 0 || move.getColumn() >= settings.getColumnSize()) {
+        return new VerificationResult(VerificationResult.Outcome.ILLEGAL_MOVE, i);
+      }
+
+      try {
+        move.apply(engine, board);
+      } catch (RuntimeException | StackOverflowError e) {
+        // A move that cannot be replayed only breaks its own submission
+        return new VerificationResult(VerificationResult.Outcome.ILLEGAL_MOVE, i);
+      }
+
+      if (board.isDead()) {
+        return new VerificationResult(VerificationResult.Outcome.LOST, i);
+      } else if (board.isVictorious() && i == moves.size() - 1) {
+        return new VerificationResult(VerificationResult.Outcome.WON, i);
+      }
+    }
+    return new VerificationResult(VerificationResult.Outcome.UNFINISHED, -1);
+  }
+
+  private boolean isValid(EngineSettings settings) {
+    if (settings == null) {
+      return false;
+    }
+    long items = (long) settings.getRowSize() * settings.getColumnSize();
+    return settings.getRowSize() > 0 && settings.getColumnSize() > 0 && items <= maxItems
+        && settings.getAmountOfMines() >= 0 && settings.getAmountOfMines() < items;
+  }
+}
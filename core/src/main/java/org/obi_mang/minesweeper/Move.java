@@ -0,0 +1,124 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * A single move made by a player on a game board.
+ */
+public class Move {
+  /**
+   * The kinds of moves, one for each of {@link Engine#reveal(GameBoard, int, int)},
+   * {@link Engine#mark(GameBoard, int, int)} and {@link Engine#unmark(GameBoard, int, int)}.
+   */
+  public enum Type {
+    REVEAL,
+    MARK,
+    UNMARK
+  }
+
+  private final Type type;
+  private final int row;
+  private final int column;
+
+  /**
+   * Creates a move on the item located on the specified row and column.
+   *
+   * @param type - the kind of move
+   * @param row - the row of the game board item
+   * @param column - the column of the game board item
+   * @throws IllegalArgumentException if the type is null
+   */
+  public Move(Type type, int row, int column) {
+    if (type == null) {
+      throw new IllegalArgumentException("A move needs a type");
+    }
+    this.type = type;
+    this.row = row;
+    this.column = column;
+  }
+
+  /**
+   * Creates a move that reveals an item.
+   *
+   * @param row - the row of the game board item to reveal
+   * @param column - the column of the game board item to reveal
+   * @return a new reveal move
+   */
+  public static Move reveal(int row, int column) {
+    return new Move(Type.REVEAL, row, column);
+  }
+
+  /**
+   * Creates a move that marks an item as a potential mine.
+   *
+   * @param row - the row of the game board item to mark
+   * @param column - the column of the game board item to mark
+   * @return a new mark move
+   */
+  public static Move mark(int row, int column) {
+    return new Move(Type.MARK, row, column);
+  }
+
+  /**
+   * Creates a move that unmarks an item.
+   *
+   * @param row - the row of the game board item to unmark
+   * @param column - the column of the game board item to unmark
+   * @return a new unmark move
+   */
+  public static Move unmark(int row, int column) {
+    return new Move(Type.UNMARK, row, column);
+  }
+
+  /**
+   * Get the kind of move.
+   *
+   * @return the kind of move
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Get the row of the game board item the move is made on.
+   *
+   * @return the row of the game board item
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Get the column of the game board item the move is made on.
+   *
+   * @return the column of the game board item
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Makes the move on a game board.
+   *
+   * @param engine - the engine that created the game board
+   * @param board - the game board to make the move on
+   */
+  public void apply(Engine engine, GameBoard board) {
+    switch (type) {
+      case REVEAL:
+        engine.reveal(board, row, column);
+        break;
+      case MARK:
+        engine.mark(board, row, column);
+        break;
+      case UNMARK:
+        engine.unmark(board, row, column);
+        break;
+      default:
+        throw new IllegalStateException("Unknown move type " + type);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return type + "(" + row + ", " + column + ")";
+  }
+}
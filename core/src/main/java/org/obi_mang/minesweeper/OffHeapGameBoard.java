@@ -0,0 +1,306 @@
+package org.obi_mang.minesweeper;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The representation of a game board and its state, stored outside of the Java heap.<br>
+ * <p>
+ * Intended for game boards too large for {@link GameBoard}, i.e. boards with more than
+ * {@link Integer#MAX_VALUE} items, or boards where an object per item is too costly. Each item needs four
+ * bits, stored in segments of direct {@link ByteBuffer}s and addressed by a <code>long</code> index of
+ * <code>row * columns + column</code>. The adjacent mines are not stored, they are counted when asked for.
+ * <p>
+ * Since the items are not objects, the garbage collector never has to visit them. Note that the JVM limits
+ * the total amount of direct memory, see <code>-XX:MaxDirectMemorySize</code>.
+ * <p>
+ * Obtain an instance from an {@link Engine}
+ */
+public class OffHeapGameBoard {
+  static final int MINE = 0x1;
+  static final int REVEALED = 0x2;
+  static final int MARKED = 0x4;
+  static final int CAUSE_OF_DEATH = 0x8;
+
+  // 2^26 bytes, i.e. 2^27 items, per segment
+  private static final int SEGMENT_SHIFT = 26;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+  private final int rowSize;
+  private final int columnSize;
+  private final long size;
+  private final ByteBuffer[] segments;
+  private long hiddenItemsLeft;
+  private boolean dead;
+  private boolean victorious;
+
+  protected OffHeapGameBoard(int rowSize, int columnSize) {
+    this.rowSize = rowSize;
+    this.columnSize = columnSize;
+    this.size = (long) rowSize * columnSize;
+
+    long bytes = (size + 1) >>> 1;
+    int segmentCount = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    segments = new ByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      long remaining = bytes - ((long) i << SEGMENT_SHIFT);
+      // Direct buffers are zeroed, i.e. all items start as hidden and not mines
+      segments[i] = ByteBuffer.allocateDirect((int) Math.min(remaining, 1L << SEGMENT_SHIFT));
+    }
+    hiddenItemsLeft = size;
+    dead = false;
+    victorious = false;
+  }
+
+  /**
+   * Get the amount of rows on the game board.
+   *
+   * @return the number of rows
+   */
+  public int getRowSize() {
+    return rowSize;
+  }
+
+  /**
+   * Get the amount of columns for each row on the game board.
+   *
+   * @return the number of columns for each row
+   */
+  public int getColumnSize() {
+    return columnSize;
+  }
+
+  /**
+   * Get the total amount of items on the game board.
+   *
+   * @return the number of items
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Get the index of the item located on the specified row and column.
+   *
+   * @param row - the row of the item
+   * @param column - the column of the item
+   * @return the index of the item
+   */
+  public long getIndex(int row, int column) {
+    if (row < 0 || row >= rowSize || column < 0 || column >= columnSize) {
+      throw new IndexOutOfBoundsException("Row " + row + ", column " + column);
+    }
+    return (long) row * columnSize + column;
+  }
+
+  /**
+   * Check if the item is a mine.
+   *
+   * @param index - the index of the item
+   * @return true if the item is a mine, otherwise false
+   */
+  public boolean isMine(long index) {
+    return (getFlags(index) & MINE) != 0;
+  }
+
+  /**
+   * Check if the item is considered hidden (values cannot be seen).
+   *
+   * @param index - the index of the item
+   * @return true if the item is hidden, otherwise false
+   */
+  public boolean isHidden(long index) {
+    return (getFlags(index) & REVEALED) == 0;
+  }
+
+  /**
+   * Check if the item is marked as a potential mine.
+   *
+   * @param index - the index of the item
+   * @return true if the item is marked as a potential mine, otherwise false
+   */
+  public boolean isMarked(long index) {
+    return (getFlags(index) & MARKED) != 0;
+  }
+
+  /**
+   * Check if the item was the cause of death.
+   *
+   * @param index - the index of the item
+   * @return true if the item was the cause of death, otherwise false
+   */
+  public boolean isCauseOfDeath(long index) {
+    return (getFlags(index) & CAUSE_OF_DEATH) != 0;
+  }
+
+  /**
+   * Count how many mines there are adjacent to the item located on the specified row and column.
+   *
+   * @param row - the row of the item
+   * @param column - the column of the item
+   * @return the number of adjacent mines
+   */
+  public int getAdjacentMines(int row, int column) {
+    int totalFoundMines = 0;
+    for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rowSize - 1); r++) {
+      long rowStart = (long) r * columnSize;
+      for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columnSize - 1); c++) {
+        if ((r != row || c != column) && (getFlags(rowStart + c) & MINE) != 0) {
+          totalFoundMines++;
+        }
+      }
+    }
+    return totalFoundMines;
+  }
+
+  /**
+   * Get what a player sees of the item located on the specified row and column, coded the same way as
+   * {@link GameBoard#getCellState(int, int)}.
+   *
+   * @param row - the row of the item
+   * @param column - the column of the item
+   * @return the number of adjacent mines of a revealed item, or one of the codes of {@link BoardViewEncoder}
+   */
+  public byte getCellState(int row, int column) {
+    int flags = getFlags(getIndex(row, column));
+    if ((flags & REVEALED) == 0) {
+      return (flags & MARKED) != 0 ? BoardViewEncoder.MARKED : BoardViewEncoder.HIDDEN;
+    } else if ((flags & CAUSE_OF_DEATH) != 0) {
+      return BoardViewEncoder.CAUSE_OF_DEATH;
+    } else if ((flags & MINE) != 0) {
+      return BoardViewEncoder.MINE;
+    }
+    return (byte) getAdjacentMines(row, column);
+  }
+
+  /**
+   * Check if the game is over.<br>
+   * A game is considered over if the player died or cleared all items on the board except for the mines.
+   *
+   * @return true if either dead or victorious, otherwise false
+   */
+  public boolean isGameOver() {
+    return (isDead() || isVictorious());
+  }
+
+  /**
+   * Check if game board has been set to be dead.
+   *
+   * @return true if game has ended by death, otherwise false
+   */
+  protected boolean isDead() {
+    return dead;
+  }
+
+  /**
+   * Set game board to dead. This is a one time operation, i.e. once called the dead state cannot be reverted.
+   */
+  protected void setDead() {
+    dead = true;
+  }
+
+  /**
+   * Check if the game board has been set to victorious.
+   *
+   * @return true if the game ended victorious, otherwise false
+   */
+  protected boolean isVictorious() {
+    return victorious;
+  }
+
+  /**
+   * Set the game board to have ended victorious. This is a one time operation, i.e. once called the victorious
+   * state cannot be reverted.
+   */
+  protected void setVictorious() {
+    victorious = true;
+  }
+
+  /**
+   * Get the amount of items that are neither mines nor revealed.
+   *
+   * @return the number of safe items left to reveal
+   */
+  protected long getHiddenItemsLeft() {
+    return hiddenItemsLeft;
+  }
+
+  /**
+   * Place a mine on the item with the given index.
+   *
+   * @param index - the index of the item
+   * @return true if a mine was placed, false if the item already was a mine
+   */
+  protected boolean placeMine(long index) {
+    if (isMine(index)) {
+      return false;
+    }
+    setFlags(index, MINE, true);
+    hiddenItemsLeft--;
+    return true;
+  }
+
+  /**
+   * Set the item with the given index to be visible. This is a one time operation.
+   *
+   * @param index - the index of the item
+   */
+  protected void setVisible(long index) {
+    int flags = getFlags(index);
+    if ((flags & REVEALED) == 0) {
+      setFlags(index, REVEALED, true);
+      if ((flags & MINE) == 0) {
+        hiddenItemsLeft--;
+      }
+    }
+  }
+
+  /**
+   * Set all mines to be visible. Works a byte, i.e. two items, at a time.
+   */
+  protected void setMinesVisible() {
+    int mines = MINE | (MINE << 4);
+    for (ByteBuffer segment : segments) {
+      for (int position = 0; position < segment.capacity(); position++) {
+        int b = segment.get(position);
+        if ((b & mines) != 0) {
+          // Mines never count towards the hidden items left
+          segment.put(position, (byte) (b | ((b & mines) << 1)));
+        }
+      }
+    }
+  }
+  
+  /**
+   * Set the item to be marked as a potential mine, or not.
+   *
+   * @param index - the index of the item
+   * @param marked - true if the item should be marked, otherwise false
+   */
+  protected void setMarked(long index, boolean marked) {
+    setFlags(index, MARKED, marked);
+  }
+
+  /**
+   * Set the item with the given index to be the cause of death. This is a one time operation.
+   *
+   * @param index - the index of the item
+   */
+  protected void setCauseOfDeath(long index) {
+    setFlags(index, CAUSE_OF_DEATH, true);
+  }
+
+  int getFlags(long index) {
+    long byteIndex = index >>> 1;
+    byte b = segments[(int) (byteIndex >>> SEGMENT_SHIFT)].get((int) (byteIndex & SEGMENT_MASK));
+    return (index & 1) == 0 ? b & 0x0F : (b >>> 4) & 0x0F;
+  }
+
+  private void setFlags(long index, int flags, boolean set) {
+    long byteIndex = index >>> 1;
+    ByteBuffer segment = segments[(int) (byteIndex >>> SEGMENT_SHIFT)];
+    int position = (int) (byteIndex & SEGMENT_MASK);
+    int mask = (index & 1) == 0 ? flags : flags << 4;
+    int b = segment.get(position);
+    segment.put(position, (byte) (set ? b | mask : b & ~mask));
+  }
+}
@@ -0,0 +1,21 @@
+package org.obi_mang.minesweeper;
+
+import java.util.Random;
+
+/**
+ * Decides the moves of a bot playing a game, as used by the {@link SimulationRunner}.
+ * <p>
+ * Each thread of a simulation gets its own instance, so a strategy may keep state between calls.
+ */
+@FunctionalInterface
+public interface PlayerStrategy {
+  /**
+   * Decide the next move. Only information visible to a player should be used, i.e. not
+   * {@link GameBoardItem#isMine()} or the adjacent mines of hidden items.
+   *
+   * @param board - the game board being played, not yet over
+   * @param random - the source of randomness to use, seeded per game so that simulations are repeatable
+   * @return the next move, or null to give up the game
+   */
+  Move nextMove(GameBoard board, Random random);
+}
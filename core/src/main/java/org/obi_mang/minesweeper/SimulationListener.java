@@ -0,0 +1,15 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Receives the statistics of a running {@link SimulationRunner} as they accumulate.
+ */
+@FunctionalInterface
+public interface SimulationListener {
+  /**
+   * Called every time another report interval of games has been played. Calls never overlap, but may come
+   * from any thread of the simulation.
+   *
+   * @param statistics - the statistics so far
+   */
+  void onProgress(SimulationStatistics statistics);
+}
@@ -0,0 +1,196 @@
+package org.obi_mang.minesweeper;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Plays large numbers of games headlessly with a {@link PlayerStrategy}, to gather statistics such as the
+ * win rate of a difficulty.
+ * <p>
+ * The games are split into batches on a {@link ForkJoinPool}, so idle threads steal work from busy ones.
+ * Each thread has its own strategy and reuses its game board between games, see
+ * {@link Engine#getGameBoard(GameBoard)}. They are dropped when the run ends, so the threads of a shared pool
+ * don't hold on to them. Only aggregated counters are kept, never per game results.
+ * <p>
+ * Game <code>n</code> is played with the random seed of the engine settings plus <code>n</code>, so a
+ * simulation gives the same statistics every time, regardless of the number of threads.
+ */
+public class SimulationRunner {
+  private static final int BATCH_SIZE = 64;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a runner on the common fork join pool, which has a thread per available processor.
+   */
+  public SimulationRunner() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a runner on a pool of its caller's choosing.
+   *
+   * @param pool - the pool to play the games on
+   */
+  public SimulationRunner(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Plays a number of games and waits for them to finish.
+   *
+   * @param engineSettings - the settings to play with, the random seed is the seed of the first game
+   * @param games - how many games to play
+   * @param strategy - creates the strategy for each thread
+   * @param listener - receives the statistics every report interval, may be null
+   * @param reportInterval - how many games to play between calls to the listener
+   * @return the statistics of all games
+   */
+  public SimulationStatistics run(EngineSettings engineSettings, long games, Supplier<PlayerStrategy> strategy,
+      SimulationListener listener, long reportInterval) {
+    Simulation simulation = new Simulation(engineSettings, strategy, listener, reportInterval);
+    try {
+      pool.invoke(new Batch(simulation, 0, games));
+      return simulation.snapshot();
+    } finally {
+      simulation.players.clear();
+    }
+  }
+
+  /**
+   * The shared state of one call to run.
+   */
+  private static class Simulation {
+    private final EngineSettings engineSettings;
+    private final Supplier<PlayerStrategy> strategy;
+    // Keyed by the threads of the pool, only for the length of the run
+    private final Map<Thread, Player> players = new ConcurrentHashMap<>();
+    private final SimulationListener listener;
+    private final long reportInterval;
+    private final long start;
+    private final AtomicLong nextReport;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder losses = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder cascades = new LongAdder();
+
+    Simulation(EngineSettings engineSettings, Supplier<PlayerStrategy> strategy, SimulationListener listener,
+        long reportInterval) {
+      this.engineSettings = engineSettings;
+      this.strategy = strategy;
+      this.listener = listener;
+      this.reportInterval = Math.max(reportInterval, 1);
+      this.start = System.nanoTime();
+      this.nextReport = new AtomicLong(this.reportInterval);
+    }
+
+    Player player() {
+      return players.computeIfAbsent(Thread.currentThread(), thread -> new Player(strategy.get()));
+    }
+
+    SimulationStatistics snapshot() {
+      return new SimulationStatistics(games.sum(), wins.sum(), losses.sum(), moves.sum(), cascades.sum(),
+          System.nanoTime() - start);
+    }
+
+    void gamesPlayed(long count) {
+      games.add(count);
+      if (listener == null) {
+        return;
+      }
+      long report = nextReport.get();
+      if (games.sum() >= report && nextReport.compareAndSet(report, report + reportInterval)) {
+        synchronized (this) {
+          listener.onProgress(snapshot());
+        }
+      }
+    }
+  }
+
+  /**
+   * The per thread state: a strategy, a game board to reuse and a source of randomness.
+   */
+  private static class Player {
+    private final PlayerStrategy strategy;
+    private final Random random = new Random();
+    private GameBoard board;
+
+    Player(PlayerStrategy strategy) {
+      this.strategy = strategy;
+    }
+
+    void play(Simulation simulation, long game) {
+      long seed = simulation.engineSettings.getRandomSeed() + game;
+      Engine engine = EngineFactory.customEngine(new EngineSettingsBuilder(simulation.engineSettings)
+          .withRandomSeed(seed)
+          .build());
+      board = engine.getGameBoard(board);
+      random.setSeed(seed);
+
+      // A strategy that never ends the game is stopped, as if it gave up
+      long maxMoves = 4L * engine.getEngineSettings().getRowSize() * engine.getEngineSettings().getColumnSize();
+      long moves = 0;
+      long cascades = 0;
+      while (!board.isGameOver() && moves < maxMoves) {
+        Move move = strategy.nextMove(board, random);
+        if (move == null) {
+          break;
+        }
+        GameBoardItem item = board.getGameBoardItems().get(move.getRow()).get(move.getColumn());
+        boolean wasHidden = item.isHidden();
+        move.apply(engine, board);
+        moves++;
+        if (move.getType() == Move.Type.REVEAL && wasHidden && !item.isHidden() && !item.isMine()
+            && item.getAdjacentMines() == 0) {
+          cascades++;
+        }
+      }
+
+      simulation.moves.add(moves);
+      simulation.cascades.add(cascades);
+      if (board.isVictorious()) {
+        simulation.wins.increment();
+      } else if (board.isDead()) {
+        simulation.losses.increment();
+      }
+    }
+  }
+
+  /**
+   * Plays the games in <code>[from, to)</code>, splitting them up until they fit in a batch.
+   */
+  private static class Batch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Simulation simulation;
+    private final long from;
+    private final long to;
+
+    Batch(Simulation simulation, long from, long to) {
+      this.simulation = simulation;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > BATCH_SIZE) {
+        long middle = (from + to) >>> 1;
+        invokeAll(new Batch(simulation, from, middle), new Batch(simulation, middle, to));
+        return;
+      }
+      Player player = simulation.player();
+      for (long game = from; game < to; game++) {
+        player.play(simulation, game);
+      }
+      simulation.gamesPlayed(to - from);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Aggregated statistics of the games played by a {@link SimulationRunner}, as of a point in time.
+ */
+public class SimulationStatistics {
+  private final long games;
+  private final long wins;
+  private final long losses;
+  private final long moves;
+  private final long cascades;
+  private final long elapsedNanos;
+
+  protected SimulationStatistics(long games, long wins, long losses, long moves, long cascades,
+      long elapsedNanos) {
+    this.games = games;
+    this.wins = wins;
+    this.losses = losses;
+    this.moves = moves;
+    this.cascades = cascades;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Get the amount of games played so far.
+   *
+   * @return the number of games played
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Get the amount of games won.
+   *
+   * @return the number of games won
+   */
+  public long getWins() {
+    return wins;
+  }
+
+  /**
+   * Get the amount of games lost.
+   *
+   * @return the number of games lost
+   */
+  public long getLosses() {
+    return losses;
+  }
+
+  /**
+   * Get the amount of games that ended without a win or a loss.
+   *
+   * @return the number of games the strategy gave up on, i.e. neither won nor lost
+   */
+  public long getUnfinished() {
+    return games - wins - losses;
+  }
+
+  /**
+   * Get the amount of moves made.
+   *
+   * @return the number of moves made in all games
+   */
+  public long getMoves() {
+    return moves;
+  }
+
+  /**
+   * Get the amount of reveals that opened up a region of items.
+   *
+   * @return the number of reveals that revealed additional items, in all games
+   */
+  public long getCascades() {
+    return cascades;
+  }
+
+  /**
+   * Get how long the simulation has been running.
+   *
+   * @return the wall clock time since the simulation started, in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Get the win rate.
+   *
+   * @return the share of the games that were won, between 0 and 1
+   */
+  public double getWinRate() {
+    return games == 0 ? 0 : (double) wins / games;
+  }
+
+  /**
+   * Get the average amount of moves per game.
+   *
+   * @return the average number of moves per game
+   */
+  public double getAverageMoves() {
+    return games == 0 ? 0 : (double) moves / games;
+  }
+
+  /**
+   * Get the throughput of the simulation.
+   *
+   * @return the number of games played per second
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games, win rate %.4f, %.1f moves/game, %.2f cascades/game, %.0f games/s",
+        games, getWinRate(), getAverageMoves(), games == 0 ? 0 : (double) cascades / games, getGamesPerSecond());
+  }
+}
@@ -0,0 +1,45 @@
+package org.obi_mang.minesweeper;
+
+import java.util.List;
+
+/**
+ * A game reported by a client, to be checked by a {@link GameVerifier}.<br>
+ * The engine settings, random seed included, recreate the game board the moves were made on.
+ */
+public class Submission {
+  private final EngineSettings engineSettings;
+  private final List<Move> moves;
+
+  /**
+   * Creates a submission of the moves made on a game board.
+   *
+   * @param engineSettings - the settings the game was played with, including the random seed
+   * @param moves - the moves in the order they were made
+   * @throws IllegalArgumentException if the moves are null
+   */
+  public Submission(EngineSettings engineSettings, List<Move> moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("A submission needs a list of moves");
+    }
+    this.engineSettings = engineSettings;
+    this.moves = moves;
+  }
+
+  /**
+   * Get the settings that recreate the game board.
+   *
+   * @return the settings the game was played with
+   */
+  public EngineSettings getEngineSettings() {
+    return engineSettings;
+  }
+
+  /**
+   * Get the moves made on the game board.
+   *
+   * @return the moves in the order they were made
+   */
+  public List<Move> getMoves() {
+    return moves;
+  }
+}
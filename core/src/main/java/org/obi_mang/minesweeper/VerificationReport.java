@@ -0,0 +1,59 @@
+package org.obi_mang.minesweeper;
+
+import java.util.List;
+
+/**
+ * The results of verifying a batch of {@link Submission}s with a {@link GameVerifier}.
+ */
+public class VerificationReport {
+  private final List<VerificationResult> results;
+  private final long elapsedNanos;
+
+  protected VerificationReport(List<VerificationResult> results, long elapsedNanos) {
+    this.results = results;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Get the result of every submission.
+   *
+   * @return one result per submission, in the order of the submissions
+   */
+  public List<VerificationResult> getResults() {
+    return results;
+  }
+
+  /**
+   * Count the submissions that ended a certain way.
+   *
+   * @param outcome - the wanted outcome
+   * @return the number of submissions with the outcome
+   */
+  public int count(VerificationResult.Outcome outcome) {
+    int count = 0;
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i).getOutcome() == outcome) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Get how long the batch took to verify.
+   *
+   * @return the wall clock time the batch took to verify, in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Get the throughput of the batch.
+   *
+   * @return the number of submissions verified per second
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : results.size() * 1_000_000_000.0 / elapsedNanos;
+  }
+}
@@ -0,0 +1,59 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * The outcome of replaying a {@link Submission}.
+ */
+public class VerificationResult {
+  /**
+   * How the replay ended.
+   */
+  public enum Outcome {
+    /** The moves clear the game board. */
+    WON,
+    /** A move reveals a mine. */
+    LOST,
+    /** A move is outside of the game board, or made after the game was over. */
+    ILLEGAL_MOVE,
+    /** The moves run out before the game is over. */
+    UNFINISHED,
+    /** The engine settings cannot create a game board, or one larger than the verifier accepts. */
+    INVALID_SETTINGS
+  }
+
+  private final Outcome outcome;
+  private final int moveIndex;
+
+  /**
+   * Creates the result of a replay.
+   *
+   * @param outcome - how the replay ended
+   * @param moveIndex - the index of the move that ended the replay, or -1 if no move did
+   */
+  public VerificationResult(Outcome outcome, int moveIndex) {
+    this.outcome = outcome;
+    this.moveIndex = moveIndex;
+  }
+
+  /**
+   * Get how the replay ended.
+   *
+   * @return how the replay ended
+   */
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Get the move that ended the replay.
+   *
+   * @return the index of the move that ended the replay, or -1 if no move did
+   */
+  public int getMoveIndex() {
+    return moveIndex;
+  }
+
+  @Override
+  public String toString() {
+    return outcome + (moveIndex < 0 ? "" : " at move " + moveIndex);
+  }
+}
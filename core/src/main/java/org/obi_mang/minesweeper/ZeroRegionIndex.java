@@ -0,0 +1,229 @@
+package org.obi_mang.minesweeper;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed regions of connected items without adjacent mines, together with their numbered borders.
+ * <p>
+ * Revealing an item without adjacent mines reveals all items of its region, so with this index a reveal
+ * becomes a walk over a list instead of a search through the game board.
+ * <p>
+ * The regions are found with union-find. The game board is split into bands of rows that are labeled in
+ * parallel, after which the rows on each side of the band borders are merged.
+ * <p>
+ * Items are referred to by their index, <code>row * columns + column</code>.
+ */
+class ZeroRegionIndex {
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+  private static final int NO_REGION = -1;
+
+  private final int[] regionOfItem;
+  private final int[] regionStart;
+  private final int[] regionItems;
+
+  /**
+   * Labels the regions of a game board. The adjacent mines of every item must already be calculated.
+   *
+   * @param list - the rows of the game board items
+   */
+  ZeroRegionIndex(List<List<GameBoardItem>> list) {
+    int rows = list.size();
+    int columns = rows == 0 ? 0 : list.get(0).size();
+    int size = rows * columns;
+
+    boolean[] zero = new boolean[size];
+    for (int row = 0; row < rows; row++) {
+      List<GameBoardItem> items = list.get(row);
+      for (int column = 0; column < columns; column++) {
+        GameBoardItem item = items.get(column);
+        zero[row * columns + column] = !item.isMine() && item.getAdjacentMines() == 0;
+      }
+    }
+
+    int[] parent = new int[size];
+    for (int i = 0; i < size; i++) {
+      parent[i] = i;
+    }
+
+    // Every band only touches the items within itself, so the bands can be labeled side by side
+    int bands = size < PARALLEL_THRESHOLD ? 1 : Math.min(rows, Runtime.getRuntime().availableProcessors() * 4);
+    int[] bandStart = new int[bands + 1];
+    for (int band = 0; band <= bands; band++) {
+      bandStart[band] = (int) ((long) rows * band / bands);
+    }
+    IntStream bandStream = IntStream.range(0, bands);
+    if (bands > 1) {
+      bandStream = bandStream.parallel();
+    }
+    bandStream.forEach(band -> unionBand(zero, parent, columns, bandStart[band], bandStart[band + 1]));
+    for (int band = 1; band < bands; band++) {
+      unionRows(zero, parent, columns, bandStart[band]);
+    }
+
+    // Number the regions by their first item
+    regionOfItem = new int[size];
+    int regions = 0;
+    for (int i = 0; i < size; i++) {
+      if (!zero[i]) {
+        regionOfItem[i] = NO_REGION;
+      } else {
+        int root = find(parent, i);
+        regionOfItem[i] = root == i ? regions++ : regionOfItem[root];
+      }
+    }
+
+    // Count, then fill, the items of every region. Borders can belong to several regions.
+    regionStart = new int[regions + 1];
+    int[] found = new int[8];
+    for (int i = 0; i < size; i++) {
+      int count = adjacentRegions(i, rows, columns, zero, found);
+      for (int r = 0; r < count; r++) {
+        regionStart[found[r] + 1]++;
+      }
+    }
+    for (int region = 0; region < regions; region++) {
+      regionStart[region + 1] += regionStart[region];
+    }
+    regionItems = new int[regionStart[regions]];
+    int[] fill = new int[regions];
+    for (int i = 0; i < size; i++) {
+      int count = adjacentRegions(i, rows, columns, zero, found);
+      for (int r = 0; r < count; r++) {
+        regionItems[regionStart[found[r]] + fill[found[r]]++] = i;
+      }
+    }
+  }
+
+  /**
+   * Check if an item belongs to a region, i.e. it has no adjacent mines and is no mine itself.
+   *
+   * @param index - the index of the item
+   * @return true if the item has a region, otherwise false
+   */
+  boolean hasRegion(int index) {
+    return regionOfItem[index] != NO_REGION;
+  }
+
+  /**
+   * Get where the region of an item starts in the region items.
+   *
+   * @param index - the index of an item with a region
+   * @return the index into {@link #getRegionItems()} where the items of the region start
+   */
+  int getRegionStart(int index) {
+    return regionStart[regionOfItem[index]];
+  }
+
+  /**
+   * Get where the region of an item ends in the region items.
+   *
+   * @param index - the index of an item with a region
+   * @return the index into {@link #getRegionItems()} where the items of the region end, exclusive
+   */
+  int getRegionEnd(int index) {
+    return regionStart[regionOfItem[index] + 1];
+  }
+
+  /**
+   * Get the indexes of the items of all regions, region after region.
+   *
+   * @return the item indexes, must not be modified
+   */
+  int[] getRegionItems() {
+    return regionItems;
+  }
+
+  /**
+   * Unites the items in a band of rows with their neighbours to the left and above, within the band.
+   */
+  private static void unionBand(boolean[] zero, int[] parent, int columns, int rowStart, int rowEnd) {
+    for (int row = rowStart; row < rowEnd; row++) {
+      for (int column = 0; column < columns; column++) {
+        int i = row * columns + column;
+        if (zero[i]) {
+          if (column > 0 && zero[i - 1]) {
+            union(parent, i, i - 1);
+          }
+          if (row > rowStart) {
+            unionAbove(zero, parent, columns, row, column);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Unites the items on a row with their neighbours on the row above.
+   */
+  private static void unionRows(boolean[] zero, int[] parent, int columns, int row) {
+    for (int column = 0; column < columns; column++) {
+      if (zero[row * columns + column]) {
+        unionAbove(zero, parent, columns, row, column);
+      }
+    }
+  }
+
+  private static void unionAbove(boolean[] zero, int[] parent, int columns, int row, int column) {
+    int i = row * columns + column;
+    for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+      int above = i - columns + c - column;
+      if (zero[above]) {
+        union(parent, i, above);
+      }
+    }
+  }
+
+  private static void union(int[] parent, int a, int b) {
+    int rootA = find(parent, a);
+    int rootB = find(parent, b);
+    // The lowest index becomes the root
+    if (rootA < rootB) {
+      parent[rootB] = rootA;
+    } else if (rootB < rootA) {
+      parent[rootA] = rootB;
+    }
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  /**
+   * Finds the distinct regions an item belongs to. An item without adjacent mines belongs to its own
+   * region only, a numbered item belongs to the regions of its neighbours without adjacent mines.
+   *
+   * @return how many regions were put into found
+   */
+  private int adjacentRegions(int i, int rows, int columns, boolean[] zero, int[] found) {
+    if (zero[i]) {
+      found[0] = regionOfItem[i];
+      return 1;
+    }
+    int row = i / columns;
+    int column = i % columns;
+    int count = 0;
+    for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+      for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+        int adjacent = r * columns + c;
+        if (zero[adjacent] && !contains(found, count, regionOfItem[adjacent])) {
+          found[count++] = regionOfItem[adjacent];
+        }
+      }
+    }
+    return count;
+  }
+
+  private static boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      if (values[i] == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,93 @@
+package org.obi_mang.minesweeper;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the frame size and encoding speed of {@link BoardViewEncoder} for every framing, over the moves
+ * of games on difficult game boards. For comparison it also measures a plain JSON rendering of the
+ * game board items, the way a generic serializer would write them.
+ * <p>
+ * Not a unit test, run it with:<br>
+ * <code>java -cp target/classes:target/test-classes org.obi_mang.minesweeper.BoardViewEncoderBenchmark</code>
+ */
+public class BoardViewEncoderBenchmark {
+  private static final int GAMES = 300;
+
+  public static void main(String[] args) {
+    for (int round = 0; round < 2; round++) {
+      System.out.println(round == 0 ? "warmup" : "measured");
+      for (BoardViewEncoder.Framing framing : BoardViewEncoder.Framing.values()) {
+        run(framing.toString(), framing);
+      }
+      run("JSON", null);
+    }
+  }
+
+  private static void run(String name, BoardViewEncoder.Framing framing) {
+    BasicPlayerStrategy strategy = new BasicPlayerStrategy();
+    Random random = new Random();
+    StringBuilder json = new StringBuilder();
+    long frames = 0;
+    long bytes = 0;
+    long nanos = 0;
+
+    for (int game = 0; game < GAMES; game++) {
+      Engine engine = EngineFactory.customEngine(new EngineSettingsBuilder()
+          .withRowSize(EngineSettingsBuilder.DIFFICULT_ROW_SIZE)
+          .withColumnSize(EngineSettingsBuilder.DIFFICULT_COLUMN_SIZE)
+          .withAmountOfMines(EngineSettingsBuilder.DIFFICULT_AMOUNT_OF_MINES)
+          .withRandomSeed(game)
+          .build());
+      GameBoard board = engine.getGameBoard();
+      BoardViewEncoder encoder = new BoardViewEncoder(EngineSettingsBuilder.DIFFICULT_ROW_SIZE,
+          EngineSettingsBuilder.DIFFICULT_COLUMN_SIZE);
+      ByteBuffer buffer = ByteBuffer.allocate(encoder.getMaxEncodedSize());
+      random.setSeed(game);
+
+      while (!board.isGameOver()) {
+        Move move = strategy.nextMove(board, random);
+        if (move == null) {
+          break;
+        }
+        move.apply(engine, board);
+
+        long start = System.nanoTime();
+        if (framing == null) {
+          json.setLength(0);
+          toJson(board, json);
+          bytes += json.length();
+        } else {
+          buffer.clear();
+          bytes += encoder.encode(board, buffer, framing);
+        }
+        nanos += System.nanoTime() - start;
+        frames++;
+      }
+    }
+
+    System.out.printf("  %-10s %8.1f bytes/frame, %8.2f us/frame%n", name, (double) bytes / frames,
+        nanos / 1000.0 / frames);
+  }
+
+  private static void toJson(GameBoard board, StringBuilder json) {
+    json.append('[');
+    List<List<GameBoardItem>> rows = board.getGameBoardItems();
+    for (int row = 0; row < rows.size(); row++) {
+      json.append(row == 0 ? "[" : ",[");
+      List<GameBoardItem> items = rows.get(row);
+      for (int column = 0; column < items.size(); column++) {
+        GameBoardItem item = items.get(column);
+        json.append(column == 0 ? "" : ",")
+            .append("{\"hidden\":").append(item.isHidden())
+            .append(",\"marked\":").append(item.isMarked())
+            .append(",\"causeOfDeath\":").append(item.isCauseOfDeath())
+            .append(",\"adjacentMines\":").append(item.isHidden() ? 0 : item.getAdjacentMines())
+            .append('}');
+      }
+      json.append(']');
+    }
+    json.append(']');
+  }
+}
@@ -0,0 +1,51 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Compares the time to the first move on large game boards, i.e. creating the game board and revealing a
+ * single item, with and without {@link EngineSettingsBuilder#withLazyAdjacentMines(boolean)}.
+ * <p>
+ * Not a unit test, run it with:<br>
+ * <code>java -cp target/classes:target/test-classes org.obi_mang.minesweeper.LazyAdjacentMinesBenchmark</code>
+ */
+public class LazyAdjacentMinesBenchmark {
+  private static final int ROW_SIZE = 1000;
+  private static final int COLUMN_SIZE = 1000;
+  private static final int AMOUNT_OF_MINES = 200_000;
+  private static final int WARMUP_GAMES = 5;
+  private static final int GAMES = 10;
+
+  public static void main(String[] args) {
+    run("warmup eager", false, WARMUP_GAMES);
+    run("warmup lazy", true, WARMUP_GAMES);
+    run("eager", false, GAMES);
+    run("lazy", true, GAMES);
+  }
+
+  private static void run(String name, boolean lazyAdjacentMines, int games) {
+    long generationNanos = 0;
+    long firstMoveNanos = 0;
+
+    for (int game = 0; game < games; game++) {
+      Engine engine = EngineFactory.customEngine(new EngineSettingsBuilder()
+          .withRowSize(ROW_SIZE)
+          .withColumnSize(COLUMN_SIZE)
+          .withAmountOfMines(AMOUNT_OF_MINES)
+          .withRandomSeed(game)
+          .withLazyAdjacentMines(lazyAdjacentMines)
+          .build());
+
+      long start = System.nanoTime();
+      GameBoard board = engine.getGameBoard();
+      long generated = System.nanoTime();
+      engine.reveal(board, ROW_SIZE / 2, COLUMN_SIZE / 2);
+      long moved = System.nanoTime();
+
+      generationNanos += generated - start;
+      firstMoveNanos += moved - generated;
+    }
+
+    System.out.printf("%-13s generation %7.1f ms, first move %7.3f ms, time to first move %7.1f ms%n",
+        name, generationNanos / 1e6 / games, firstMoveNanos / 1e6 / games,
+        (generationNanos + firstMoveNanos) / 1e6 / games);
+  }
+}
@@ -4,9 +4,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -224,4 +232,648 @@ public class MineSweeperTest {
     
     assertEquals(expectedAmountOfVisibleItems, actualAmountOfVisibleItems);
   }
+  
+  @Test
+  public void testWriteAndReadGameBoard() throws Exception {
+    GameBoard board = engine.getGameBoard();
+    engine.mark(board, 0, 3);
+    engine.reveal(board, 7, 0);
+    
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GameBoardWriter writer = new GameBoardWriter(out)) {
+      writer.write(board);
+    }
+    
+    GameBoard readBoard;
+    try (GameBoardReader reader = new GameBoardReader(new ByteArrayInputStream(out.toByteArray()))) {
+      assertEquals(8, reader.getRowSize());
+      assertEquals(8, reader.getColumnSize());
+      readBoard = reader.readGameBoard();
+    }
+    
+    // A header and two items per byte, the adjacent mines are counted again when reading
+    assertEquals(14 + 8 * 8 / 2, out.size());
+    assertFalse(readBoard.isGameOver());
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        GameBoardItem expected = board.getGameBoardItems().get(row).get(column);
+        GameBoardItem actual = readBoard.getGameBoardItems().get(row).get(column);
+        assertEquals(CellState.pack(expected), CellState.pack(actual));
+      }
+    }
+  }
+  
+  @Test
+  public void testWriteAndReadOffHeapGameBoard() throws Exception {
+    // An odd amount of columns, so the last item of a row has a byte of its own
+    Engine oddEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+        .withRowSize(7)
+        .withColumnSize(9)
+        .withAmountOfMines(10)
+        .withRandomSeed(1L)
+        .build());
+    OffHeapGameBoard board = oddEngine.getOffHeapGameBoard();
+    int zeroIndex = 0;
+    while (board.isMine(zeroIndex) || board.getAdjacentMines(zeroIndex / 9, zeroIndex % 9) != 0) {
+      zeroIndex++;
+    }
+    oddEngine.reveal(board, zeroIndex / 9, zeroIndex % 9);
+    int mineIndex = 0;
+    while (!board.isMine(mineIndex)) {
+      mineIndex++;
+    }
+    oddEngine.mark(board, mineIndex / 9, mineIndex % 9);
+    
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GameBoardWriter writer = new GameBoardWriter(out)) {
+      writer.write(board);
+    }
+    assertEquals(14 + 7 * 5, out.size());
+    
+    OffHeapGameBoard readBoard;
+    try (GameBoardReader reader = new GameBoardReader(new ByteArrayInputStream(out.toByteArray()))) {
+      readBoard = reader.readOffHeapGameBoard();
+    }
+    byte[] states = new byte[9];
+    try (GameBoardReader reader = new GameBoardReader(new ByteArrayInputStream(out.toByteArray()))) {
+      for (int row = 0; row < 7; row++) {
+        reader.readRow(states);
+        for (int column = 0; column < 9; column++) {
+          long index = board.getIndex(row, column);
+          assertEquals(board.isMine(index), readBoard.isMine(index));
+          assertEquals(board.isHidden(index), readBoard.isHidden(index));
+          assertEquals(board.isMarked(index), readBoard.isMarked(index));
+          assertEquals(board.isCauseOfDeath(index), readBoard.isCauseOfDeath(index));
+          assertEquals(board.isMine(index), CellState.isMine(states[column]));
+          if (!board.isMine(index)) {
+            assertEquals(board.getAdjacentMines(row, column), CellState.getAdjacentMines(states[column]));
+          }
+        }
+      }
+    }
+    assertEquals(board.getHiddenItemsLeft(), readBoard.getHiddenItemsLeft());
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooLargeGameBoard() throws Exception {
+    EngineSettings settings = new EngineSettingsBuilder()
+        .withRowSize(65536)
+        .withColumnSize(65536)
+        .build();
+    EngineFactory.customEngine(settings).getGameBoard();
+  }
+  
+  @Test
+  public void testOffHeapGameBoard() throws Exception {
+    OffHeapGameBoard board = engine.getOffHeapGameBoard();
+    
+    long actualAmountOfMines = 0;
+    for (long index = 0; index < board.getSize(); index++) {
+      assertTrue(board.isHidden(index));
+      if (board.isMine(index)) {
+        actualAmountOfMines++;
+      }
+    }
+    assertEquals(10L, actualAmountOfMines);
+    
+    // Reveal the first item without adjacent mines
+    int zeroIndex = 0;
+    while (board.isMine(zeroIndex) || board.getAdjacentMines(zeroIndex / 8, zeroIndex % 8) != 0) {
+      zeroIndex++;
+    }
+    engine.reveal(board, zeroIndex / 8, zeroIndex % 8);
+    
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        long index = board.getIndex(row, column);
+        if (!board.isHidden(index)) {
+          assertFalse(board.isMine(index));
+        }
+        if (!board.isHidden(index) && board.getAdjacentMines(row, column) == 0) {
+          for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, 7); r++) {
+            for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, 7); c++) {
+              assertFalse(board.isHidden(board.getIndex(r, c)));
+            }
+          }
+        }
+      }
+    }
+    
+    int mineIndex = 0;
+    while (!board.isMine(mineIndex)) {
+      mineIndex++;
+    }
+    assertEquals(BoardViewEncoder.HIDDEN, board.getCellState(mineIndex / 8, mineIndex % 8));
+    assertEquals(0, board.getCellState(zeroIndex / 8, zeroIndex % 8));
+    engine.reveal(board, mineIndex / 8, mineIndex % 8);
+    
+    assertTrue(board.isGameOver());
+    assertTrue(board.isCauseOfDeath(mineIndex));
+    assertEquals(BoardViewEncoder.CAUSE_OF_DEATH, board.getCellState(mineIndex / 8, mineIndex % 8));
+    for (long index = 0; index < board.getSize(); index++) {
+      if (board.isMine(index)) {
+        assertFalse(board.isHidden(index));
+      }
+    }
+  }
+  
+  @Test
+  public void testOffHeapGameBoardAcrossSegments() throws Exception {
+    // 144,000,000 items in two segments of 2^27 items, about 72 MB of direct memory
+    Engine largeEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+        .withRowSize(12000)
+        .withColumnSize(12000)
+        .withAmountOfMines(0)
+        .build());
+    OffHeapGameBoard board = largeEngine.getOffHeapGameBoard();
+    long boundary = 1L << 27;
+    int row = (int) (boundary / 12000);
+    int column = (int) (boundary % 12000);
+    assertEquals(boundary, board.getIndex(row, column));
+    
+    // Flags on both sides of the boundary, sharing neither a byte nor a segment
+    largeEngine.mark(board, row, column - 1);
+    assertTrue(board.isMarked(boundary - 1));
+    assertFalse(board.isMarked(boundary));
+    largeEngine.mark(board, row, column);
+    largeEngine.unmark(board, row, column - 1);
+    assertFalse(board.isMarked(boundary - 1));
+    assertTrue(board.isMarked(boundary));
+    largeEngine.unmark(board, row, column);
+    
+    // A ring of mines around the boundary, so the reveal opens the items inside it on both sides
+    for (int r = row - 2; r <= row + 3; r++) {
+      for (int c = column - 8; c <= column + 9; c++) {
+        if (r == row - 2 || r == row + 3 || c == column - 8 || c == column + 9) {
+          assertTrue(board.placeMine(board.getIndex(r, c)));
+        }
+      }
+    }
+    assertEquals(0, board.getAdjacentMines(row, column));
+    largeEngine.reveal(board, row, column);
+    
+    assertFalse(board.isGameOver());
+    for (int r = row - 3; r <= row + 4; r++) {
+      for (int c = column - 9; c <= column + 10; c++) {
+        boolean inside = r > row - 2 && r < row + 3 && c > column - 8 && c < column + 9;
+        assertEquals(!inside, board.isHidden(board.getIndex(r, c)));
+      }
+    }
+    assertTrue(board.isMine(board.getIndex(row - 2, column)));
+    // An inside corner of the ring
+    assertEquals(5, board.getAdjacentMines(row - 1, column - 7));
+  }
+  
+  @Test
+  public void testZeroRegionIndexRevealsTheSameItems() throws Exception {
+    for (long seed = 0; seed < 20; seed++) {
+      assertZeroRegionIndexRevealsTheSameItems(60, 40, 300, seed);
+    }
+  }
+  
+  @Test
+  public void testParallelZeroRegionIndexRevealsTheSameItems() throws Exception {
+    // 76,800 items, enough to label the regions in parallel bands
+    for (long seed = 0; seed < 3; seed++) {
+      assertZeroRegionIndexRevealsTheSameItems(320, 240, 9600, seed);
+    }
+  }
+  
+  private void assertZeroRegionIndexRevealsTheSameItems(int rows, int columns, int mines, long seed) {
+    EngineSettingsBuilder builder = new EngineSettingsBuilder()
+        .withRowSize(rows)
+        .withColumnSize(columns)
+        .withAmountOfMines(mines)
+        .withRandomSeed(seed);
+    Engine searchEngine = EngineFactory.customEngine(builder.build());
+    Engine indexEngine = EngineFactory.customEngine(builder.withZeroRegionIndex(true).build());
+    GameBoard searchBoard = searchEngine.getGameBoard();
+    GameBoard indexBoard = indexEngine.getGameBoard();
+    
+    // Mark an item without adjacent mines to also cover the search fallback
+    searchEngine.mark(searchBoard, rows / 2, columns / 2);
+    indexEngine.mark(indexBoard, rows / 2, columns / 2);
+    
+    for (int row = 0; row < rows; row += 7) {
+      for (int column = 0; column < columns; column += 5) {
+        if (!searchBoard.getGameBoardItems().get(row).get(column).isMine()) {
+          searchEngine.reveal(searchBoard, row, column);
+          indexEngine.reveal(indexBoard, row, column);
+        }
+      }
+    }
+    
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        assertEquals(CellState.pack(searchBoard.getGameBoardItems().get(row).get(column)),
+            CellState.pack(indexBoard.getGameBoardItems().get(row).get(column)));
+      }
+    }
+    assertEquals(searchBoard.isVictorious(), indexBoard.isVictorious());
+  }
+  
+  @Test(timeout = 10000)
+  public void testZeroRegionIndexWithMarkedZeroOnLargeBoard() throws Exception {
+    Engine indexEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+        .withRowSize(400)
+        .withColumnSize(400)
+        .withAmountOfMines(1)
+        .withRandomSeed(1L)
+        .withZeroRegionIndex(true)
+        .build());
+    GameBoard board = indexEngine.getGameBoard();
+    
+    // Mark and click items without adjacent mines, far apart from each other and from the mine
+    int mine = board.nextMineIndex(0);
+    int marked = mine < board.getSize() / 2 ? board.getSize() - 1 : 0;
+    int clicked = mine < board.getSize() / 2 ? board.getSize() - 400 : 399;
+    indexEngine.mark(board, marked / 400, marked % 400);
+    indexEngine.reveal(board, clicked / 400, clicked % 400);
+    
+    long visibleItems = board.getGameBoardItems().stream()
+        .flatMap(List::stream)
+        .filter(item -> !item.isHidden())
+        .count();
+    assertEquals(board.getSize() - 2, visibleItems);
+    assertTrue(board.getGameBoardItem(marked).isHidden());
+    assertFalse(board.isGameOver());
+  }
+  
+  @Test
+  public void testEventBusPublishesChanges() throws Exception {
+    GameBoard board = engine.getGameBoard();
+    BoardEventBus bus = new BoardEventBus(64, BoardEventBus.OverflowPolicy.BLOCK);
+    board.setEventBus(bus);
+    
+    Map<BoardEvent.Type, Integer> counts = new EnumMap<>(BoardEvent.Type.class);
+    BoardEventHandler counter = (event, sequence, endOfBatch) -> {
+      counts.merge(event.getType(), 1, Integer::sum);
+      if (event.getType() == BoardEvent.Type.MARKED || event.getType() == BoardEvent.Type.UNMARKED) {
+        // The marked item is a mine, which must not be given away while it is hidden
+        assertFalse(event.isMine());
+        assertEquals(0, event.getAdjacentMines());
+      }
+    };
+    
+    try (BoardEventSubscriber subscriber = bus.subscribe()) {
+      engine.mark(board, 0, 3);
+      engine.mark(board, 0, 3);
+      engine.unmark(board, 0, 3);
+      engine.reveal(board, 7, 0);
+      assertEquals(23L, subscriber.getLag());
+      
+      while (subscriber.poll(counter, 8) > 0) {
+        // keep polling
+      }
+      assertEquals(Integer.valueOf(1), counts.get(BoardEvent.Type.MARKED));
+      assertEquals(Integer.valueOf(1), counts.get(BoardEvent.Type.UNMARKED));
+      assertEquals(Integer.valueOf(21), counts.get(BoardEvent.Type.REVEALED));
+      
+      List<BoardEvent.Type> types = new ArrayList<>();
+      engine.reveal(board, 0, 3);
+      subscriber.poll((event, sequence, endOfBatch) -> {
+        types.add(event.getType());
+        if (event.getType() == BoardEvent.Type.REVEALED) {
+          assertTrue(event.isMine());
+        }
+      }, 64);
+      
+      // All ten mines are revealed before the death itself
+      assertEquals(11, types.size());
+      assertEquals(BoardEvent.Type.DEATH, types.get(10));
+      assertEquals(0L, subscriber.getDroppedEvents());
+    }
+  }
+  
+  @Test
+  public void testVictoryIsAtTheLastRevealedItem() throws Exception {
+    for (boolean zeroRegionIndex : new boolean[] { false, true }) {
+      Engine oneMineEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+          .withAmountOfMines(1)
+          .withRandomSeed(1L)
+          .withZeroRegionIndex(zeroRegionIndex)
+          .build());
+      GameBoard board = oneMineEngine.getGameBoard();
+      BoardEventBus bus = new BoardEventBus(128, BoardEventBus.OverflowPolicy.BLOCK);
+      board.setEventBus(bus);
+      
+      try (BoardEventSubscriber subscriber = bus.subscribe()) {
+        // With a single mine in a corner every other item is in the same region
+        int start = board.getGameBoardItems().get(0).get(0).isMine() ? 7 : 0;
+        oneMineEngine.reveal(board, start, start);
+        assertTrue(board.isVictorious());
+        
+        List<int[]> events = new ArrayList<>();
+        while (subscriber.poll((event, sequence, endOfBatch) -> events.add(
+            new int[] { event.getType().ordinal(), event.getRow(), event.getColumn() }), 128) > 0) {
+          // keep polling
+        }
+        int[] last = events.get(events.size() - 1);
+        int[] lastRevealed = events.get(events.size() - 2);
+        assertEquals(BoardEvent.Type.VICTORY.ordinal(), last[0]);
+        assertEquals(BoardEvent.Type.REVEALED.ordinal(), lastRevealed[0]);
+        assertEquals(lastRevealed[1], last[1]);
+        assertEquals(lastRevealed[2], last[2]);
+      }
+    }
+  }
+  
+  @Test
+  public void testEventBusDropsWhenOverrun() throws Exception {
+    GameBoard board = engine.getGameBoard();
+    BoardEventBus bus = new BoardEventBus(8, BoardEventBus.OverflowPolicy.DROP);
+    board.setEventBus(bus);
+    BoardEventSubscriber subscriber = bus.subscribe();
+    
+    engine.reveal(board, 7, 0);
+    
+    int handled = 0;
+    for (int poll = 0; poll < 4; poll++) {
+      handled += subscriber.poll((event, sequence, endOfBatch) -> { }, 100);
+    }
+    
+    assertEquals(8, handled);
+    assertEquals(13L, subscriber.getDroppedEvents());
+    
+    // Overrun in the middle of a batch, the last event handled still ends the batch
+    List<Boolean> endOfBatches = new ArrayList<>();
+    bus.publish(BoardEvent.Type.MARKED, 0, 0, 0, false);
+    bus.publish(BoardEvent.Type.UNMARKED, 0, 0, 0, false);
+    bus.publish(BoardEvent.Type.MARKED, 0, 0, 0, false);
+    handled = subscriber.poll((event, sequence, endOfBatch) -> {
+      if (endOfBatches.isEmpty()) {
+        for (int i = 0; i < 8; i++) {
+          bus.publish(BoardEvent.Type.MARKED, 0, 0, 0, false);
+        }
+      }
+      endOfBatches.add(endOfBatch);
+    }, 100);
+    assertEquals(2, handled);
+    assertEquals(Arrays.asList(false, true), endOfBatches);
+    assertEquals(14L, subscriber.getDroppedEvents());
+  }
+  
+  @Test
+  public void testRecycledGameBoard() throws Exception {
+    GameBoard oldBoard = easyEngine.getGameBoard();
+    easyEngine.reveal(oldBoard, 0, 0);
+    easyEngine.mark(oldBoard, 1, 1);
+    
+    GameBoard recycledBoard = engine.getGameBoard(oldBoard);
+    GameBoard freshBoard = engine.getGameBoard();
+    
+    assertTrue(recycledBoard.getGameBoardItems().get(0).get(0) == oldBoard.getGameBoardItems().get(0).get(0));
+    assertFalse(recycledBoard.isGameOver());
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        assertEquals(CellState.pack(freshBoard.getGameBoardItems().get(row).get(column)),
+            CellState.pack(recycledBoard.getGameBoardItems().get(row).get(column)));
+      }
+    }
+  }
+  
+  @Test
+  public void testGameVerifier() throws Exception {
+    EngineSettings settings = new EngineSettingsBuilder().withRandomSeed(1L).build();
+    GameBoard board = engine.getGameBoard();
+    
+    // Only reveal what earlier reveals left hidden, so the last move is the winning one
+    List<Move> winningMoves = new ArrayList<>();
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        GameBoardItem item = board.getGameBoardItems().get(row).get(column);
+        if (!item.isMine() && item.isHidden()) {
+          winningMoves.add(Move.reveal(row, column));
+          engine.reveal(board, row, column);
+        }
+      }
+    }
+    assertTrue(board.isVictorious());
+    List<Move> tooManyMoves = new ArrayList<>(winningMoves);
+    tooManyMoves.add(Move.mark(0, 3));
+    
+    List<Submission> submissions = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      submissions.add(new Submission(settings, winningMoves));
+    }
+    submissions.add(new Submission(settings, Arrays.asList(Move.mark(0, 3), Move.reveal(7, 0), Move.reveal(1, 0))));
+    submissions.add(new Submission(settings, Arrays.asList(Move.reveal(7, 0), Move.reveal(8, 0))));
+    submissions.add(new Submission(settings, tooManyMoves));
+    submissions.add(new Submission(settings, Collections.singletonList(Move.reveal(7, 0))));
+    submissions.add(new Submission(new EngineSettingsBuilder().withRowSize(0).build(), winningMoves));
+    submissions.add(new Submission(null, winningMoves));
+    submissions.add(new Submission(settings, Arrays.asList(Move.reveal(7, 0), null)));
+    submissions.add(null);
+    // Opens a million items at once, far more than a recursive reveal has stack for
+    submissions.add(new Submission(new EngineSettingsBuilder().withRowSize(1024).withColumnSize(1024)
+        .withAmountOfMines(0).build(), Collections.singletonList(Move.reveal(0, 0))));
+    
+    VerificationReport report;
+    try (GameVerifier verifier = new GameVerifier(3, GameVerifier.DEFAULT_MAX_ITEMS)) {
+      report = verifier.verify(submissions);
+    }
+    
+    List<VerificationResult> results = report.getResults();
+    assertEquals(59, results.size());
+    assertEquals(51, report.count(VerificationResult.Outcome.WON));
+    assertEquals(winningMoves.size() - 1, results.get(0).getMoveIndex());
+    assertEquals(VerificationResult.Outcome.LOST, results.get(50).getOutcome());
+    assertEquals(2, results.get(50).getMoveIndex());
+    assertEquals(VerificationResult.Outcome.ILLEGAL_MOVE, results.get(51).getOutcome());
+    assertEquals(1, results.get(51).getMoveIndex());
+    assertEquals(VerificationResult.Outcome.ILLEGAL_MOVE, results.get(52).getOutcome());
+    assertEquals(winningMoves.size(), results.get(52).getMoveIndex());
+    assertEquals(VerificationResult.Outcome.UNFINISHED, results.get(53).getOutcome());
+    assertEquals(VerificationResult.Outcome.INVALID_SETTINGS, results.get(54).getOutcome());
+    assertEquals(VerificationResult.Outcome.INVALID_SETTINGS, results.get(55).getOutcome());
+    assertEquals(VerificationResult.Outcome.ILLEGAL_MOVE, results.get(56).getOutcome());
+    assertEquals(1, results.get(56).getMoveIndex());
+    assertEquals(VerificationResult.Outcome.INVALID_SETTINGS, results.get(57).getOutcome());
+    assertEquals(VerificationResult.Outcome.WON, results.get(58).getOutcome());
+    assertEquals(0, results.get(58).getMoveIndex());
+    assertTrue(report.getGamesPerSecond() > 0);
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveWithoutTypeIsRejected() throws Exception {
+    new Move(null, 0, 0);
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testSubmissionWithoutMovesIsRejected() throws Exception {
+    new Submission(new EngineSettingsBuilder().build(), null);
+  }
+  
+  @Test
+  public void testLazyAdjacentMines() throws Exception {
+    Engine lazyEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+        .withRandomSeed(1L)
+        .withLazyAdjacentMines(true)
+        .build());
+    GameBoard lazyBoard = lazyEngine.getGameBoard();
+    GameBoard eagerBoard = engine.getGameBoard();
+    
+    lazyEngine.reveal(lazyBoard, 7, 0);
+    engine.reveal(eagerBoard, 7, 0);
+    
+    for (int row = 0; row < 8; row++) {
+      for (int column = 0; column < 8; column++) {
+        assertEquals(CellState.pack(eagerBoard.getGameBoardItems().get(row).get(column)),
+            CellState.pack(lazyBoard.getGameBoardItems().get(row).get(column)));
+      }
+    }
+    
+    // A recycled game board counts lazily too
+    GameBoard recycledBoard = lazyEngine.getGameBoard(lazyBoard);
+    assertEquals(2, recycledBoard.getGameBoardItems().get(0).get(0).getAdjacentMines());
+    assertEquals(4, recycledBoard.getGameBoardItems().get(2).get(0).getAdjacentMines());
+    
+    // First reads from several threads at once count the same as an eager game board
+    GameBoard sharedBoard = lazyEngine.getGameBoard();
+    List<GameBoardItem> eagerItems = eagerBoard.getAllItems();
+    List<GameBoardItem> sharedItems = sharedBoard.getAllItems();
+    assertTrue(IntStream.range(0, 64 * 4).parallel()
+        .allMatch(i -> sharedItems.get(i % 64).getAdjacentMines() == eagerItems.get(i % 64).getAdjacentMines()));
+  }
+  
+  @Test
+  public void testSimulationRunner() throws Exception {
+    EngineSettings settings = new EngineSettingsBuilder().withRandomSeed(1L).build();
+    List<SimulationStatistics> reports = new ArrayList<>();
+    
+    SimulationStatistics statistics = new SimulationRunner()
+        .run(settings, 500, BasicPlayerStrategy::new, reports::add, 100);
+    
+    assertEquals(500L, statistics.getGames());
+    assertEquals(0L, statistics.getUnfinished());
+    assertTrue(statistics.getWins() > 0);
+    assertTrue(statistics.getLosses() > 0);
+    assertTrue(statistics.getMoves() >= 500L);
+    assertFalse(reports.isEmpty());
+    
+    // The same seeds give the same games
+    SimulationStatistics again = new SimulationRunner().run(settings, 500, BasicPlayerStrategy::new, null, 100);
+    assertEquals(statistics.getWins(), again.getWins());
+    assertEquals(statistics.getMoves(), again.getMoves());
+    assertEquals(statistics.getCascades(), again.getCascades());
+  }
+  
+  @Test
+  public void testBoardViewEncoding() throws Exception {
+    for (BoardViewEncoder.Framing framing : BoardViewEncoder.Framing.values()) {
+      GameBoard board = engine.getGameBoard();
+      BoardViewEncoder encoder = new BoardViewEncoder(8, 8);
+      BoardViewDecoder decoder = new BoardViewDecoder(8, 8);
+      ByteBuffer buffer = ByteBuffer.allocate(encoder.getMaxEncodedSize());
+      
+      for (int step = 0; step < 3; step++) {
+        if (step == 1) {
+          engine.mark(board, 0, 3);
+          engine.reveal(board, 7, 0);
+        } else if (step == 2) {
+          engine.reveal(board, 1, 0);
+        }
+        
+        buffer.clear();
+        encoder.encode(board, buffer, framing);
+        buffer.flip();
+        decoder.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        
+        for (int row = 0; row < 8; row++) {
+          for (int column = 0; column < 8; column++) {
+            GameBoardItem item = board.getGameBoardItems().get(row).get(column);
+            assertEquals(BoardViewEncoder.code(item), decoder.getCode(row, column));
+            if (!board.isGameOver() && item.isMine()) {
+              assertTrue(decoder.getCode(row, column) >= BoardViewEncoder.HIDDEN);
+              assertTrue(decoder.getCode(row, column) <= BoardViewEncoder.MARKED);
+            }
+          }
+        }
+      }
+      assertEquals(BoardViewEncoder.CAUSE_OF_DEATH, decoder.getCode(1, 0));
+      assertEquals(BoardViewEncoder.MINE, decoder.getCode(0, 3));
+    }
+  }
+  
+  @Test
+  public void testPrimitiveReadApi() throws Exception {
+    GameBoard board = engine.getGameBoard();
+    engine.reveal(board, 7, 0);
+    
+    assertEquals(8, board.getRowSize());
+    assertEquals(8, board.getColumnSize());
+    assertEquals(64, board.getSize());
+    
+    byte[] viewport = new byte[2 + 3 * 4];
+    board.copyViewport(5, 2, 3, 4, viewport, 2);
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 4; c++) {
+        GameBoardItem item = board.getGameBoardItems().get(5 + r).get(2 + c);
+        assertEquals(BoardViewEncoder.code(item), viewport[2 + r * 4 + c]);
+        assertEquals(BoardViewEncoder.code(item), board.getCellState((5 + r) * 8 + 2 + c));
+        assertEquals(BoardViewEncoder.code(item), board.getCellState(5 + r, 2 + c));
+      }
+    }
+    
+    // A hidden mine looks like any other hidden item
+    assertEquals(BoardViewEncoder.HIDDEN, board.getCellState(0, 3));
+    engine.mark(board, 0, 3);
+    assertEquals(BoardViewEncoder.MARKED, board.getCellState(3));
+    assertEquals(BoardViewEncoder.HIDDEN, board.getCellState(0, 2));
+    
+    // See testMineLocation() for where the mines are
+    int[] expectedMines = { 3, 8, 9, 23, 24, 25, 34, 37, 41, 47 };
+    int found = 0;
+    for (int index = board.nextMineIndex(0); index >= 0; index = board.nextMineIndex(index + 1)) {
+      assertEquals(expectedMines[found++], index);
+    }
+    assertEquals(expectedMines.length, found);
+  }
+  
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testViewportOutsideOfGameBoard() throws Exception {
+    engine.getGameBoard().copyViewport(6, 6, 3, 3, new byte[9], 0);
+  }
+  
+  @Test
+  public void testChangedTiles() throws Exception {
+    Engine largeEngine = EngineFactory.customEngine(new EngineSettingsBuilder()
+        .withRowSize(40)
+        .withColumnSize(40)
+        .withAmountOfMines(150)
+        .withRandomSeed(1L)
+        .build());
+    GameBoard board = largeEngine.getGameBoard();
+    int[] tiles = new int[9];
+    
+    assertEquals(0L, board.getVersion());
+    assertEquals(0, board.getChangedTiles(0L, 0, 0, 40, 40, tiles));
+    
+    // Mark the last item, which is in the bottom right tile
+    largeEngine.mark(board, 39, 39);
+    long version = board.getVersion();
+    assertEquals(1L, version);
+    assertEquals(1, board.getChangedTiles(0L, 0, 0, 40, 40, tiles));
+    assertEquals(8, tiles[0]);
+    assertEquals(0, board.getChangedTiles(0L, 0, 0, 32, 32, tiles));
+    assertEquals(0, board.getChangedTiles(version, 0, 0, 40, 40, tiles));
+    
+    // Reveal an item in the top left tile
+    int index = 0;
+    while (board.getGameBoardItem(index).isMine() || board.getGameBoardItem(index).getAdjacentMines() == 0) {
+      index++;
+    }
+    largeEngine.reveal(board, index / 40, index % 40);
+    assertEquals(version + 1, board.getVersion());
+    assertEquals(1, board.getChangedTiles(version, 0, 0, 40, 40, tiles));
+    assertEquals((index / 40 / GameBoard.TILE_SIZE) * 3 + (index % 40) / GameBoard.TILE_SIZE, tiles[0]);
+    assertEquals(2, board.getChangedTiles(0L, 0, 0, 40, 40, tiles));
+    
+    // Dying only changes the items of the ten mines, not the game board version on top of that
+    GameBoard smallBoard = engine.getGameBoard();
+    engine.reveal(smallBoard, 0, 3);
+    assertTrue(smallBoard.isDead());
+    assertEquals(10L, smallBoard.getVersion());
+  }
 }
@@ -0,0 +1,76 @@
+package org.obi_mang.minesweeper;
+
+/**
+ * Compares the cascade latency of revealing an item without adjacent mines, with and without
+ * {@link EngineSettingsBuilder#withZeroRegionIndex(boolean)}.
+ * <p>
+ * Not a unit test, run it with:<br>
+ * <code>java -cp target/classes:target/test-classes org.obi_mang.minesweeper.ZeroRegionIndexBenchmark</code>
+ */
+public class ZeroRegionIndexBenchmark {
+  private static final int ROW_SIZE = 120;
+  private static final int COLUMN_SIZE = 120;
+  private static final int AMOUNT_OF_MINES = 1200;
+  private static final int WARMUP_GAMES = 200;
+  private static final int GAMES = 500;
+
+  public static void main(String[] args) {
+    run("warmup search", false, WARMUP_GAMES);
+    run("warmup index", true, WARMUP_GAMES);
+    run("search", false, GAMES);
+    run("index", true, GAMES);
+  }
+
+  private static void run(String name, boolean zeroRegionIndex, int games) {
+    long generationNanos = 0;
+    long totalRevealNanos = 0;
+    long maxRevealNanos = 0;
+    long revealedItems = 0;
+
+    for (int game = 0; game < games; game++) {
+      Engine engine = EngineFactory.customEngine(new EngineSettingsBuilder()
+          .withRowSize(ROW_SIZE)
+          .withColumnSize(COLUMN_SIZE)
+          .withAmountOfMines(AMOUNT_OF_MINES)
+          .withRandomSeed(game)
+          .withZeroRegionIndex(zeroRegionIndex)
+          .build());
+
+      long start = System.nanoTime();
+      GameBoard board = engine.getGameBoard();
+      generationNanos += System.nanoTime() - start;
+
+      int index = firstItemWithoutAdjacentMines(board);
+      start = System.nanoTime();
+      engine.reveal(board, index / COLUMN_SIZE, index % COLUMN_SIZE);
+      long revealNanos = System.nanoTime() - start;
+      totalRevealNanos += revealNanos;
+      maxRevealNanos = Math.max(maxRevealNanos, revealNanos);
+      revealedItems += countVisible(board);
+    }
+
+    System.out.printf("%-14s generation %8.1f us, reveal avg %9.1f us, max %9.1f us, %6.0f items/reveal%n",
+        name, generationNanos / 1000.0 / games, totalRevealNanos / 1000.0 / games, maxRevealNanos / 1000.0,
+        (double) revealedItems / games);
+  }
+
+  private static int firstItemWithoutAdjacentMines(GameBoard board) {
+    for (int index = 0; index < ROW_SIZE * COLUMN_SIZE; index++) {
+      GameBoardItem item = board.getGameBoardItems().get(index / COLUMN_SIZE).get(index % COLUMN_SIZE);
+      if (!item.isMine() && item.getAdjacentMines() == 0) {
+        return index;
+      }
+    }
+    throw new IllegalStateException("No item without adjacent mines");
+  }
+
+  private static long countVisible(GameBoard board) {
+    long visible = 0;
+    for (int index = 0; index < ROW_SIZE * COLUMN_SIZE; index++) {
+      if (!board.getGameBoardItems().get(index / COLUMN_SIZE).get(index % COLUMN_SIZE).isHidden()) {
+        visible++;
+      }
+    }
+    return visible;
+  }
+}